@@ -0,0 +1,114 @@
+package net.simonvt.numberpicker;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.view.View;
+import android.view.accessibility.AccessibilityManager;
+
+/**
+ * Sends the accessibility events of a view at a limited rate.
+ * <p>
+ * Events requested while the previous one was sent less than
+ * {@link #MIN_INTERVAL_MILLIS} ago, or while the dispatcher is held, e.g.
+ * during a fling, are coalesced by type and sent once, so only the final
+ * state is announced. Nothing is done while accessibility is disabled.
+ * </p>
+ */
+final class AccessibilityEventDispatcher {
+
+    /**
+     * The min time between two sends.
+     */
+    static final long MIN_INTERVAL_MILLIS = 100;
+
+    private final View mView;
+
+    private final AccessibilityManager mAccessibilityManager;
+
+    private final Runnable mFlushCommand = new Runnable() {
+        @Override
+        public void run() {
+            mFlushPosted = false;
+            flush();
+        }
+    };
+
+    /**
+     * The types of the events waiting to be sent, event types are distinct bits.
+     */
+    private int mPendingEventTypes;
+
+    private long mLastSendTime = -MIN_INTERVAL_MILLIS;
+
+    private boolean mHeld;
+
+    private boolean mFlushPosted;
+
+    AccessibilityEventDispatcher(View view) {
+        mView = view;
+        mAccessibilityManager = (AccessibilityManager) view.getContext()
+                .getSystemService(Context.ACCESSIBILITY_SERVICE);
+    }
+
+    /**
+     * Sends or schedules an event of <code>eventType</code> for the view.
+     */
+    void sendAccessibilityEvent(int eventType) {
+        if (mAccessibilityManager == null || !mAccessibilityManager.isEnabled()) {
+            return;
+        }
+        mPendingEventTypes |= eventType;
+        if (mHeld) {
+            return;
+        }
+        final long wait = mLastSendTime + MIN_INTERVAL_MILLIS - SystemClock.uptimeMillis();
+        if (wait <= 0) {
+            flush();
+        } else if (!mFlushPosted) {
+            mFlushPosted = true;
+            mView.postDelayed(mFlushCommand, wait);
+        }
+    }
+
+    /**
+     * Holds back all events while <code>held</code>, sending the coalesced
+     * events once released.
+     */
+    void setHeld(boolean held) {
+        if (mHeld == held) {
+            return;
+        }
+        mHeld = held;
+        if (!held && mPendingEventTypes != 0 && !mFlushPosted) {
+            flush();
+        }
+    }
+
+    /**
+     * Drops all pending events.
+     */
+    void cancel() {
+        mPendingEventTypes = 0;
+        if (mFlushPosted) {
+            mFlushPosted = false;
+            mView.removeCallbacks(mFlushCommand);
+        }
+    }
+
+    private void flush() {
+        if (mHeld) {
+            return;
+        }
+        int eventTypes = mPendingEventTypes;
+        mPendingEventTypes = 0;
+        if (eventTypes == 0 || !mAccessibilityManager.isEnabled()) {
+            return;
+        }
+        mLastSendTime = SystemClock.uptimeMillis();
+        while (eventTypes != 0) {
+            final int eventType = Integer.lowestOneBit(eventTypes);
+            eventTypes &= ~eventType;
+            mView.sendAccessibilityEvent(eventType);
+        }
+    }
+}
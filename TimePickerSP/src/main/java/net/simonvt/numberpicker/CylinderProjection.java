@@ -0,0 +1,114 @@
+package net.simonvt.numberpicker;
+
+/**
+ * Projects the items of a selector wheel onto a drum, so items move slower,
+ * shrink and fade as they turn away from the viewer.
+ * <p>
+ * Half a turn of the drum spans the given number of items. The offset, scale
+ * and alpha of an item only depend on its distance in pixels from the middle
+ * item at rest, so they are computed once per element height into tables
+ * indexed by that distance, leaving no trigonometry for drawing.
+ * </p>
+ */
+final class CylinderProjection {
+
+    /**
+     * The number of alpha levels an item is drawn with, level 0 is not drawn.
+     */
+    static final int ALPHA_BUCKETS = 16;
+
+    private final int mItemCount;
+
+    private int mElementHeight;
+
+    /**
+     * The max distance from the middle item which is on the visible half of
+     * the drum.
+     */
+    private int mMaxDistance = -1;
+
+    private float[] mOffsets;
+
+    private float[] mScales;
+
+    private int[] mAlphaBuckets;
+
+    /**
+     * @param itemCount The number of items on half a turn of the drum.
+     */
+    CylinderProjection(int itemCount) {
+        if (itemCount <= 0) {
+            throw new IllegalArgumentException("itemCount must be > 0");
+        }
+        mItemCount = itemCount;
+    }
+
+    /**
+     * Sets the height of an item including the gap, rebuilding the tables if
+     * it changed.
+     */
+    void setElementHeight(int elementHeight) {
+        if (elementHeight == mElementHeight && mOffsets != null) {
+            return;
+        }
+        mElementHeight = elementHeight;
+        if (elementHeight <= 0) {
+            mMaxDistance = -1;
+            mOffsets = mScales = null;
+            mAlphaBuckets = null;
+            return;
+        }
+        final int maxDistance = mItemCount * elementHeight / 2;
+        final double radius = mItemCount * elementHeight / Math.PI;
+        final int size = 2 * maxDistance + 1;
+        float[] offsets = new float[size];
+        float[] scales = new float[size];
+        int[] alphaBuckets = new int[size];
+        for (int distance = -maxDistance; distance <= maxDistance; distance++) {
+            final double angle = distance / radius;
+            final double cos = Math.cos(angle);
+            final int index = distance + maxDistance;
+            offsets[index] = (float) (radius * Math.sin(angle) - distance);
+            scales[index] = (float) Math.max(cos, 0);
+            alphaBuckets[index] = (int) Math.round(Math.max(cos, 0) * (ALPHA_BUCKETS - 1));
+        }
+        mMaxDistance = maxDistance;
+        mOffsets = offsets;
+        mScales = scales;
+        mAlphaBuckets = alphaBuckets;
+    }
+
+    /**
+     * @return The alpha level of an item <code>distance</code> pixels below
+     * the middle item at rest, 0 if it is on the back of the drum.
+     */
+    int getAlphaBucket(int distance) {
+        if (distance < -mMaxDistance || distance > mMaxDistance) {
+            return 0;
+        }
+        return mAlphaBuckets[distance + mMaxDistance];
+    }
+
+    /**
+     * @return The vertical offset to add to the flat position of an item
+     * <code>distance</code> pixels below the middle item at rest.
+     */
+    float getOffset(int distance) {
+        return mOffsets[clamp(distance) + mMaxDistance];
+    }
+
+    /**
+     * @return The vertical scale of an item <code>distance</code> pixels below
+     * the middle item at rest.
+     */
+    float getScale(int distance) {
+        return mScales[clamp(distance) + mMaxDistance];
+    }
+
+    private int clamp(int distance) {
+        if (mMaxDistance < 0) {
+            throw new IllegalStateException("No element height");
+        }
+        return Math.max(-mMaxDistance, Math.min(distance, mMaxDistance));
+    }
+}
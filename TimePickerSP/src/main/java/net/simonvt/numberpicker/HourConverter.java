@@ -0,0 +1,77 @@
+package net.simonvt.numberpicker;
+
+import java.util.Calendar;
+
+/**
+ * Conversions between the 24 hour clock and the 12 hour clock with an
+ * AM/PM marker.
+ * <p>
+ * All conversions are table lookups or plain arithmetic, they do not
+ * allocate and do not depend on the locale.
+ * </p>
+ */
+final class HourConverter {
+
+    /**
+     * The number of hours in half a day.
+     */
+    static final int HOURS_IN_HALF_DAY = 12;
+
+    /**
+     * The 12 hour clock value for each hour of the day.
+     */
+    private static final int[] HOUR_12 = new int[]{
+            12, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11,
+            12, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11
+    };
+
+    /**
+     * The hour of day offset for {@link Calendar#AM} and {@link Calendar#PM}.
+     */
+    private static final int[] HALF_DAY_OFFSET = new int[]{0, HOURS_IN_HALF_DAY};
+
+    private HourConverter() {
+    }
+
+    /**
+     * @param hourOfDay The hour in the range (0-23).
+     * @return The hour in the range (1-12).
+     */
+    static int toHour12(int hourOfDay) {
+        return HOUR_12[hourOfDay];
+    }
+
+    /**
+     * @param hourOfDay The hour in the range (0-23).
+     * @return {@link Calendar#AM} or {@link Calendar#PM}.
+     */
+    static int getAmPm(int hourOfDay) {
+        return hourOfDay / HOURS_IN_HALF_DAY;
+    }
+
+    /**
+     * @param hourOfDay The hour in the range (0-23).
+     * @return True if the hour is before noon.
+     */
+    static boolean isAm(int hourOfDay) {
+        return hourOfDay < HOURS_IN_HALF_DAY;
+    }
+
+    /**
+     * @param hour12 The hour in the range (1-12).
+     * @param amPm   {@link Calendar#AM} or {@link Calendar#PM}.
+     * @return The hour in the range (0-23).
+     */
+    static int toHourOfDay(int hour12, int amPm) {
+        return hour12 % HOURS_IN_HALF_DAY + HALF_DAY_OFFSET[amPm];
+    }
+
+    /**
+     * @param hour12 The hour in the range (1-12).
+     * @param isAm   True if the hour is before noon.
+     * @return The hour in the range (0-23).
+     */
+    static int toHourOfDay(int hour12, boolean isAm) {
+        return toHourOfDay(hour12, isAm ? Calendar.AM : Calendar.PM);
+    }
+}
@@ -0,0 +1,193 @@
+package net.simonvt.numberpicker;
+
+/**
+ * An immutable range of <code>long</code> values from a min to a max value,
+ * both inclusive, e.g. epoch seconds or a large counter.
+ * <p>
+ * Clamping, wrapping and stepping run in O(1) and are exact for any range,
+ * including ranges with more values than fit in a <code>long</code>.
+ * Distances within a range are unsigned, a range holds up to 2^64 values.
+ * </p>
+ */
+public final class LongRange {
+
+    private final long mMinValue;
+
+    private final long mMaxValue;
+
+    private LongRange(long minValue, long maxValue) {
+        mMinValue = minValue;
+        mMaxValue = maxValue;
+    }
+
+    /**
+     * @return A range of all values from <code>minValue</code> to
+     * <code>maxValue</code>.
+     * @throws IllegalArgumentException If <code>minValue</code> is greater
+     *                                  than <code>maxValue</code>.
+     */
+    public static LongRange of(long minValue, long maxValue) {
+        if (minValue > maxValue) {
+            throw new IllegalArgumentException("minValue must be <= maxValue");
+        }
+        return new LongRange(minValue, maxValue);
+    }
+
+    /**
+     * @return The smallest value.
+     */
+    public long getMinValue() {
+        return mMinValue;
+    }
+
+    /**
+     * @return The largest value.
+     */
+    public long getMaxValue() {
+        return mMaxValue;
+    }
+
+    /**
+     * @return The number of values minus one, as an unsigned value.
+     */
+    public long getSpan() {
+        return mMaxValue - mMinValue;
+    }
+
+    /**
+     * @return True if the range holds all 2^64 <code>long</code> values.
+     */
+    public boolean isFull() {
+        return getSpan() == -1L;
+    }
+
+    /**
+     * @return True if <code>value</code> is part of this range.
+     */
+    public boolean contains(long value) {
+        return value >= mMinValue && value <= mMaxValue;
+    }
+
+    /**
+     * @return The value of this range closest to <code>value</code>.
+     */
+    public long clamp(long value) {
+        return Math.max(mMinValue, Math.min(value, mMaxValue));
+    }
+
+    /**
+     * @return The value of this range reached by counting from the min value
+     * up to <code>value</code>, starting over at the min value after the max
+     * value, and the same way downwards.
+     */
+    public long wrap(long value) {
+        if (value > mMaxValue) {
+            // 0 < value - mMaxValue < 2^64, so it is exact as unsigned.
+            return mMinValue + remainderUnsigned(value - mMaxValue - 1, getSpan() + 1);
+        } else if (value < mMinValue) {
+            return mMaxValue - remainderUnsigned(mMinValue - value - 1, getSpan() + 1);
+        }
+        return value;
+    }
+
+    /**
+     * @return The value <code>steps</code> values after <code>value</code>,
+     * or before it if negative, either wrapping around or stopping at the
+     * ends of this range.
+     * @throws IllegalArgumentException If <code>value</code> is not part of
+     *                                  this range.
+     */
+    public long step(long value, long steps, boolean wrap) {
+        if (!contains(value)) {
+            throw new IllegalArgumentException("value must be within the range");
+        }
+        final long offset = value - mMinValue;
+        // 0 for a full range, which remainderUnsigned takes as 2^64.
+        final long size = getSpan() + 1;
+        // -Long.MIN_VALUE is Long.MIN_VALUE, which is 2^63 as unsigned.
+        final long distance = (steps < 0) ? -steps : steps;
+        if (!wrap) {
+            final long room = (steps < 0) ? offset : mMaxValue - value;
+            if (compareUnsigned(distance, room) > 0) {
+                return (steps < 0) ? mMinValue : mMaxValue;
+            }
+            return value + steps;
+        }
+        final long shift = remainderUnsigned(distance, size);
+        if (steps < 0) {
+            return mMinValue + (compareUnsigned(shift, offset) <= 0
+                    ? offset - shift : size - (shift - offset));
+        }
+        final long roomAbove = size - offset;
+        return mMinValue + (compareUnsigned(shift, roomAbove) < 0
+                ? offset + shift : shift - roomAbove);
+    }
+
+    /**
+     * @return The unsigned number of steps upwards from <code>from</code> to
+     * <code>to</code>, wrapping around after the max value.
+     * @throws IllegalArgumentException If a value is not part of this range.
+     */
+    public long distance(long from, long to) {
+        if (!contains(from) || !contains(to)) {
+            throw new IllegalArgumentException("Values must be within the range");
+        }
+        return (to >= from) ? to - from : getSpan() + 1 - (from - to);
+    }
+
+    /**
+     * @return <code>value</code> compared to <code>other</code>, both taken
+     * as unsigned.
+     */
+    static int compareUnsigned(long value, long other) {
+        value += Long.MIN_VALUE;
+        other += Long.MIN_VALUE;
+        return (value < other) ? -1 : ((value == other) ? 0 : 1);
+    }
+
+    /**
+     * @return The remainder of <code>dividend</code> divided by
+     * <code>divisor</code>, both taken as unsigned. A divisor of 0 stands for
+     * 2^64, which leaves any dividend as it is.
+     */
+    static long remainderUnsigned(long dividend, long divisor) {
+        if (divisor == 0) {
+            return dividend;
+        }
+        if (divisor < 0) {
+            // The divisor is at least 2^63, so the quotient is 0 or 1.
+            return compareUnsigned(dividend, divisor) < 0 ? dividend : dividend - divisor;
+        }
+        if (dividend >= 0) {
+            return dividend % divisor;
+        }
+        // Halve the dividend to divide it signed, the quotient is off by at
+        // most one then.
+        final long quotient = ((dividend >>> 1) / divisor) << 1;
+        final long remainder = dividend - quotient * divisor;
+        return compareUnsigned(remainder, divisor) >= 0 ? remainder - divisor : remainder;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LongRange)) {
+            return false;
+        }
+        LongRange other = (LongRange) o;
+        return mMinValue == other.mMinValue && mMaxValue == other.mMaxValue;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (int) (mMinValue ^ (mMinValue >>> 32))
+                + (int) (mMaxValue ^ (mMaxValue >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "[" + mMinValue + ", " + mMaxValue + "]";
+    }
+}
@@ -0,0 +1,229 @@
+package net.simonvt.numberpicker;
+
+import android.view.MotionEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records streams of {@link MotionEvent}s, including their historical
+ * samples, in a compact binary format, so the same gesture can be replayed
+ * against different versions of a picker.
+ * <p>
+ * Pass every event of a gesture to {@link #record(MotionEvent)}, e.g. from
+ * <code>dispatchTouchEvent</code> of the activity or a parent view, then save
+ * the recording with {@link #writeTo(OutputStream)}. Times are stored relative
+ * to the down time of the first recorded event and restored relative to the
+ * time base given to {@link #read(InputStream, long)}.
+ * </p>
+ */
+public final class MotionEventRecorder {
+
+    private static final int MAGIC = 0x4E504D45;
+
+    private static final int VERSION = 1;
+
+    private static final int TAG_END = 0;
+
+    private static final int TAG_EVENT = 1;
+
+    private final ByteArrayOutputStream mBytes = new ByteArrayOutputStream();
+
+    private final DataOutputStream mOut = new DataOutputStream(mBytes);
+
+    private final MotionEvent.PointerCoords mCoords = new MotionEvent.PointerCoords();
+
+    private long mTimeBase = -1;
+
+    private int mEventCount;
+
+    /**
+     * Appends <code>event</code> to the recording. The event is not retained.
+     */
+    public void record(MotionEvent event) {
+        if (mTimeBase < 0) {
+            mTimeBase = event.getDownTime();
+        }
+        final int pointerCount = event.getPointerCount();
+        final int historySize = event.getHistorySize();
+        try {
+            mOut.writeByte(TAG_EVENT);
+            mOut.writeShort(event.getAction());
+            mOut.writeInt(event.getSource());
+            mOut.writeInt(event.getMetaState());
+            mOut.writeInt(event.getButtonState());
+            mOut.writeInt(event.getFlags());
+            mOut.writeInt(event.getEdgeFlags());
+            mOut.writeFloat(event.getXPrecision());
+            mOut.writeFloat(event.getYPrecision());
+            mOut.writeLong(event.getDownTime() - mTimeBase);
+            mOut.writeByte(pointerCount);
+            for (int i = 0; i < pointerCount; i++) {
+                mOut.writeByte(event.getPointerId(i));
+                mOut.writeByte(event.getToolType(i));
+            }
+            mOut.writeShort(historySize + 1);
+            for (int h = 0; h < historySize; h++) {
+                mOut.writeInt((int) (event.getHistoricalEventTime(h) - event.getDownTime()));
+                for (int i = 0; i < pointerCount; i++) {
+                    event.getHistoricalPointerCoords(i, h, mCoords);
+                    writeCoords(mCoords);
+                }
+            }
+            mOut.writeInt((int) (event.getEventTime() - event.getDownTime()));
+            for (int i = 0; i < pointerCount; i++) {
+                event.getPointerCoords(i, mCoords);
+                writeCoords(mCoords);
+            }
+        } catch (IOException e) {
+            // Writing to memory does not fail.
+            throw new IllegalStateException(e);
+        }
+        mEventCount++;
+    }
+
+    /**
+     * @return The number of recorded events.
+     */
+    public int getEventCount() {
+        return mEventCount;
+    }
+
+    /**
+     * Drops all recorded events.
+     */
+    public void clear() {
+        mBytes.reset();
+        mTimeBase = -1;
+        mEventCount = 0;
+    }
+
+    /**
+     * Writes the recording to <code>out</code>.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        mBytes.writeTo(data);
+        data.writeByte(TAG_END);
+        data.flush();
+    }
+
+    /**
+     * @return The recording as written by {@link #writeTo(OutputStream)}.
+     */
+    public byte[] toByteArray() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(mBytes.size() + 6);
+        try {
+            writeTo(out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Reads a recording written by {@link #writeTo(OutputStream)}.
+     *
+     * @param in       The recording.
+     * @param timeBase The down time of the first event, in the
+     *                 {@link android.os.SystemClock#uptimeMillis()} time base.
+     * @return The events, which the caller must recycle.
+     * @throws IOException If <code>in</code> is not a valid recording.
+     */
+    public static List<MotionEvent> read(InputStream in, long timeBase) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a motion event recording");
+        }
+        final int version = data.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported recording version: " + version);
+        }
+        List<MotionEvent> events = new ArrayList<MotionEvent>();
+        try {
+            int tag;
+            while ((tag = data.readUnsignedByte()) != TAG_END) {
+                if (tag != TAG_EVENT) {
+                    throw new IOException("Unknown tag: " + tag);
+                }
+                events.add(readEvent(data, timeBase));
+            }
+        } catch (IOException e) {
+            for (MotionEvent event : events) {
+                event.recycle();
+            }
+            throw e;
+        }
+        return events;
+    }
+
+    private static MotionEvent readEvent(DataInputStream data, long timeBase)
+            throws IOException {
+        final int action = data.readUnsignedShort();
+        final int source = data.readInt();
+        final int metaState = data.readInt();
+        final int buttonState = data.readInt();
+        final int flags = data.readInt();
+        final int edgeFlags = data.readInt();
+        final float xPrecision = data.readFloat();
+        final float yPrecision = data.readFloat();
+        final long downTime = timeBase + data.readLong();
+        final int pointerCount = data.readUnsignedByte();
+        if (pointerCount == 0) {
+            throw new IOException("Event without pointers");
+        }
+        MotionEvent.PointerProperties[] properties =
+                new MotionEvent.PointerProperties[pointerCount];
+        MotionEvent.PointerCoords[] coords = new MotionEvent.PointerCoords[pointerCount];
+        for (int i = 0; i < pointerCount; i++) {
+            properties[i] = new MotionEvent.PointerProperties();
+            properties[i].id = data.readUnsignedByte();
+            properties[i].toolType = data.readUnsignedByte();
+            coords[i] = new MotionEvent.PointerCoords();
+        }
+        final int sampleCount = data.readUnsignedShort();
+        if (sampleCount == 0) {
+            throw new IOException("Event without samples");
+        }
+        MotionEvent event = null;
+        for (int s = 0; s < sampleCount; s++) {
+            final long eventTime = downTime + data.readInt();
+            for (int i = 0; i < pointerCount; i++) {
+                readCoords(data, coords[i]);
+            }
+            if (event == null) {
+                event = MotionEvent.obtain(downTime, eventTime, action, pointerCount,
+                        properties, coords, metaState, buttonState, xPrecision, yPrecision,
+                        0, edgeFlags, source, flags);
+            } else {
+                // Each added sample moves the previous one to the history.
+                event.addBatch(eventTime, coords, metaState);
+            }
+        }
+        return event;
+    }
+
+    private void writeCoords(MotionEvent.PointerCoords coords) throws IOException {
+        mOut.writeFloat(coords.x);
+        mOut.writeFloat(coords.y);
+        mOut.writeFloat(coords.pressure);
+        mOut.writeFloat(coords.size);
+    }
+
+    private static void readCoords(DataInputStream data, MotionEvent.PointerCoords coords)
+            throws IOException {
+        coords.clear();
+        coords.x = data.readFloat();
+        coords.y = data.readFloat();
+        coords.pressure = data.readFloat();
+        coords.size = data.readFloat();
+    }
+}
@@ -19,15 +19,21 @@ package net.simonvt.numberpicker;
 import android.content.Context;
 import android.content.res.ColorStateList;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.LinearGradient;
 import android.graphics.Paint;
 import android.graphics.Paint.Align;
 import android.graphics.Rect;
+import android.graphics.Shader;
 import android.graphics.Typeface;
+import android.graphics.drawable.ColorDrawable;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.os.Bundle;
+import android.os.Parcel;
+import android.os.Parcelable;
 import android.os.SystemClock;
 import android.text.InputFilter;
 import android.text.InputType;
@@ -35,8 +41,9 @@ import android.text.Spanned;
 import android.text.TextUtils;
 import android.text.method.NumberKeyListener;
 import android.util.AttributeSet;
-import android.util.SparseArray;
+import android.util.LongSparseArray;
 import android.util.TypedValue;
+import android.view.InputDevice;
 import android.view.KeyEvent;
 import android.view.LayoutInflater;
 import android.view.LayoutInflater.Filter;
@@ -48,7 +55,9 @@ import android.view.accessibility.AccessibilityEvent;
 import android.view.accessibility.AccessibilityManager;
 import android.view.accessibility.AccessibilityNodeInfo;
 import android.view.accessibility.AccessibilityNodeProvider;
+import android.view.animation.AnimationUtils;
 import android.view.animation.DecelerateInterpolator;
+import android.view.animation.Interpolator;
 import android.view.inputmethod.EditorInfo;
 import android.view.inputmethod.InputMethodManager;
 import android.widget.Button;
@@ -106,6 +115,12 @@ public class NumberPicker extends LinearLayout {
      */
     private static final long DEFAULT_LONG_PRESS_UPDATE_INTERVAL = 300;
 
+    /**
+     * The longest frame accounted for by an accelerating long press, so a
+     * stalled frame does not make the wheel jump.
+     */
+    private static final long MAX_LONG_PRESS_FRAME_TIME = 50;
+
     /**
      * The index of the middle selector item.
      */
@@ -126,6 +141,72 @@ public class NumberPicker extends LinearLayout {
      */
     private static final int SNAP_SCROLL_DURATION = 300;
 
+    /**
+     * The time without generic motion scroll events after which the wheel
+     * settles on the closest value.
+     */
+    private static final long GENERIC_SCROLL_SETTLE_DELAY = 150;
+
+    /**
+     * The number of values moved by the page up and page down keys.
+     */
+    private static final int KEY_PAGE_STEPS = 10;
+
+    /**
+     * The additional scroll duration for each value beyond the first when
+     * scrolling to a value.
+     */
+    private static final int SMOOTH_SCROLL_STEP_DURATION = 40;
+
+    /**
+     * The max duration of scrolling to a value, regardless of the distance.
+     */
+    private static final int MAX_SMOOTH_SCROLL_DURATION = 600;
+
+    /**
+     * How far behind the frame time touch moves are sampled, so there are
+     * samples on both sides to interpolate between.
+     */
+    private static final long TOUCH_RESAMPLE_LATENCY = 5;
+
+    /**
+     * The max time touch moves may be predicted ahead.
+     */
+    private static final long MAX_TOUCH_PREDICTION = 16;
+
+    /**
+     * The max number of values an animated {@link #setValue(int, boolean)}
+     * scrolls through, farther targets are first jumped to without drawing.
+     */
+    private static final int SMOOTH_SCROLL_WINDOW = SELECTOR_WHEEL_ITEM_COUNT;
+
+    /**
+     * The max distance in pixels a key press scrolls, farther targets, e.g.
+     * the end of a long range, are jumped to.
+     */
+    private static final long MAX_KEY_SCROLL_DISTANCE = Integer.MAX_VALUE / 2;
+
+    /**
+     * Region of the selector wheel, the column the text of the items is drawn
+     * into.
+     */
+    private static final int REGION_WHEEL = 1;
+
+    /**
+     * Region of the decrement virtual button, above the top divider.
+     */
+    private static final int REGION_DECREMENT_BUTTON = 1 << 1;
+
+    /**
+     * Region of the increment virtual button, below the bottom divider.
+     */
+    private static final int REGION_INCREMENT_BUTTON = 1 << 2;
+
+    /**
+     * Region of the two selection dividers.
+     */
+    private static final int REGION_DIVIDERS = 1 << 3;
+
     /**
      * The strength of fading in the top and bottom while drawing the selector.
      */
@@ -268,23 +349,40 @@ public class NumberPicker extends LinearLayout {
     /**
      * Lower value of the range of numbers allowed for the NumberPicker
      */
-    private int mMinValue;
+    private long mMinValue;
 
     /**
      * Upper value of the range of numbers allowed for the NumberPicker
      */
-    private int mMaxValue;
+    private long mMaxValue;
+
+    /**
+     * The range from {@link #mMinValue} to {@link #mMaxValue} for wrapping
+     * and stepping, created when first needed after they changed.
+     */
+    private LongRange mRange;
+
+    /**
+     * The values allowed within [{@link #mMinValue}, {@link #mMaxValue}], or
+     * null if all values of the range are allowed.
+     */
+    private ValueDomain mValueDomain;
 
     /**
      * Current value of this NumberPicker
      */
-    private int mValue;
+    private long mValue;
 
     /**
      * Listener to be notified upon current value change.
      */
     private OnValueChangeListener mOnValueChangeListener;
 
+    /**
+     * Listener to be notified upon current value change, with long values.
+     */
+    private OnLongValueChangeListener mOnLongValueChangeListener;
+
     /**
      * Listener to be notified upon scroll state change.
      */
@@ -295,20 +393,46 @@ public class NumberPicker extends LinearLayout {
      */
     private Formatter mFormatter;
 
+    /**
+     * Formatter for long values, used instead of {@link #mFormatter} if set.
+     */
+    private LongFormatter mLongFormatter;
+
     /**
      * The speed for updating the value form long press.
      */
     private long mLongPressUpdateInterval = DEFAULT_LONG_PRESS_UPDATE_INTERVAL;
 
+    /**
+     * The curve ramping the long press rate up, null if it does not accelerate.
+     */
+    private Interpolator mLongPressRampCurve;
+
+    /**
+     * The time for the long press rate to reach {@link #mLongPressMaxRate}.
+     */
+    private long mLongPressRampDuration;
+
+    /**
+     * The max number of values per second advanced by a long press.
+     */
+    private float mLongPressMaxRate;
+
+    /**
+     * Whether the current long press has changed the value.
+     */
+    private boolean mLongPressRepeatStarted;
+
     /**
      * Cache for the string representation of selector indices.
      */
-    private final SparseArray<String> mSelectorIndexToStringCache = new SparseArray<String>();
+    private final LongSparseArray<String> mSelectorIndexToStringCache =
+            new LongSparseArray<String>();
 
     /**
      * The selector indices whose value are show by the selector.
      */
-    private final int[] mSelectorIndices = new int[SELECTOR_WHEEL_ITEM_COUNT];
+    private final long[] mSelectorIndices = new long[SELECTOR_WHEEL_ITEM_COUNT];
 
     /**
      * The {@link Paint} for drawing the selector.
@@ -335,6 +459,21 @@ public class NumberPicker extends LinearLayout {
      */
     private int mCurrentScrollOffset;
 
+    /**
+     * The top of the band the items are drawn into while the wheel scrolls.
+     */
+    private int mWheelBandTop;
+
+    /**
+     * The bottom of the band the items are drawn into while the wheel scrolls.
+     */
+    private int mWheelBandBottom;
+
+    /**
+     * The width of the widest item drawn so far.
+     */
+    private int mWidestItemWidth;
+
     /**
      * The {@link Scroller} responsible for flinging the selector.
      */
@@ -366,6 +505,22 @@ public class NumberPicker extends LinearLayout {
      */
     private BeginSoftInputOnLongPressCommand mBeginSoftInputOnLongPressCommand;
 
+    /**
+     * Command applying the accumulated generic motion scroll once per frame.
+     */
+    private GenericScrollCommand mGenericScrollCommand;
+
+    /**
+     * Command advancing the scrollers on the next frame when a frame did not
+     * move the wheel by a whole pixel, so nothing had to be drawn.
+     */
+    private final Runnable mComputeScrollCommand = new Runnable() {
+        @Override
+        public void run() {
+            computeScroll();
+        }
+    };
+
     /**
      * The Y position of the last down event.
      */
@@ -386,6 +541,30 @@ public class NumberPicker extends LinearLayout {
      */
     private VelocityTracker mVelocityTracker;
 
+    /**
+     * The touch samples of the current gesture, including batched ones.
+     */
+    private final TouchResampler mTouchResampler = new TouchResampler();
+
+    /**
+     * Whether the items are drawn on a drum rather than a flat strip.
+     */
+    private boolean mCylinderProjection;
+
+    private final CylinderProjection mCylinder =
+            new CylinderProjection(SELECTOR_WHEEL_ITEM_COUNT);
+
+    /**
+     * Copies of {@link #mSelectorWheelPaint} per alpha level of
+     * {@link CylinderProjection}, created with the first use of the drum.
+     */
+    private Paint[] mCylinderPaints;
+
+    /**
+     * How far ahead touch moves are predicted, 0 if not at all.
+     */
+    private long mTouchPrediction;
+
     /**
      * @see ViewConfiguration#getScaledTouchSlop()
      */
@@ -426,6 +605,51 @@ public class NumberPicker extends LinearLayout {
      */
     private final int mSelectionDividerHeight;
 
+    /**
+     * Whether the static decorations, the dividers and fading edges, are
+     * drawn from {@link #mDecorationCache} which is the case while the wheel
+     * scrolls.
+     */
+    private boolean mDecorationCaching;
+
+    /**
+     * Whether {@link #mDecorationCache} and {@link #mTextFadeShader} are
+     * up to date with the size of this widget.
+     */
+    private boolean mDecorationCacheValid;
+
+    /**
+     * The band above the selected item followed by the band below it, with
+     * the dividers and, over a {@link #mSolidColor}, the fading edges.
+     */
+    private Bitmap mDecorationCache;
+
+    /**
+     * The height of the band above the selected item in
+     * {@link #mDecorationCache}.
+     */
+    private int mDecorationCacheTopBand;
+
+    /**
+     * Fades the items towards the edges in place of the fading edges of
+     * {@link View}, see {@link #isFadingItems()}.
+     */
+    private Shader mTextFadeShader;
+
+    /**
+     * The background color in opaque mode, or {@link Color#TRANSPARENT}.
+     */
+    private int mOpaqueBackgroundColor = Color.TRANSPARENT;
+
+    /**
+     * The background to restore when leaving opaque mode.
+     */
+    private Drawable mBackgroundBeforeOpaque;
+
+    private final Rect mDecorationCacheSrc = new Rect();
+
+    private final Rect mDecorationCacheDst = new Rect();
+
     /**
      * The current scroll state of the number picker.
      */
@@ -472,16 +696,42 @@ public class NumberPicker extends LinearLayout {
      */
     private SupportAccessibilityNodeProvider mAccessibilityNodeProvider;
 
+    /**
+     * The accessibility manager, queried on every hover event.
+     */
+    private final AccessibilityManager mAccessibilityManager;
+
     /**
      * Helper class for managing pressed state of the virtual buttons.
      */
     private final PressedStateHelper mPressedStateHelper;
 
+    /**
+     * The behavior of this picker variant.
+     */
+    private final Behavior mBehavior;
+
     /**
      * The keycode of the last handled DPAD down event.
      */
     private int mLastHandledDownDpadKeyCode = -1;
 
+    /**
+     * The value the wheel is scrolling to due to key presses.
+     */
+    private long mKeyTargetValue;
+
+    /**
+     * Whether the fling scroller is scrolling to {@link #mKeyTargetValue}.
+     */
+    private boolean mKeyScrolling;
+
+    /**
+     * Whether values passed by the running scroll are set without notifying
+     * the {@link OnValueChangeListener}.
+     */
+    private boolean mSilentScroll;
+
     /**
      * Interface to listen for changes of the current value.
      */
@@ -497,6 +747,22 @@ public class NumberPicker extends LinearLayout {
         void onValueChange(NumberPicker picker, int oldVal, int newVal);
     }
 
+    /**
+     * Interface to listen for changes of the current value as a long, for
+     * pickers set to a {@link LongRange}.
+     */
+    public interface OnLongValueChangeListener {
+
+        /**
+         * Called upon a change of the current value.
+         *
+         * @param picker The NumberPicker associated with this listener.
+         * @param oldVal The previous value.
+         * @param newVal The new value.
+         */
+        void onValueChange(NumberPicker picker, long oldVal, long newVal);
+    }
+
     /**
      * Interface to listen for the picker scroll state.
      */
@@ -543,6 +809,21 @@ public class NumberPicker extends LinearLayout {
         String format(int value);
     }
 
+    /**
+     * Interface used to format a long current value into a string for
+     * presentation.
+     */
+    public interface LongFormatter {
+
+        /**
+         * Formats a string representation of the current value.
+         *
+         * @param value The currently selected value.
+         * @return A formatted string representation.
+         */
+        String format(long value);
+    }
+
     /**
      * Create a new number picker.
      *
@@ -570,13 +851,26 @@ public class NumberPicker extends LinearLayout {
      * @param defStyle The default style to apply to this view.
      */
     public NumberPicker(Context context, AttributeSet attrs, int defStyle) {
+        this(context, attrs, defStyle, Behavior.DEFAULT);
+    }
+
+    /**
+     * Create a new number picker with the behavior of a variant.
+     *
+     * @param context  the application environment.
+     * @param attrs    a collection of attributes.
+     * @param defStyle The default style to apply to this view.
+     * @param behavior The behavior of the variant.
+     */
+    NumberPicker(Context context, AttributeSet attrs, int defStyle, Behavior behavior) {
         super(context, attrs);
+        mBehavior = behavior;
 
         // process style attributes
         TypedArray attributesArray = context.obtainStyledAttributes(
                 attrs, R.styleable.NumberPicker, defStyle, 0);
-        final int layoutResId = attributesArray.getResourceId(
-                R.styleable.NumberPicker_internalLayout, DEFAULT_LAYOUT_RESOURCE_ID);
+        final int layoutResId = behavior.getLayoutResId(attributesArray.getResourceId(
+                R.styleable.NumberPicker_internalLayout, DEFAULT_LAYOUT_RESOURCE_ID));
 
         mHasSelectorWheel = (layoutResId != DEFAULT_LAYOUT_RESOURCE_ID);
 
@@ -625,6 +919,9 @@ public class NumberPicker extends LinearLayout {
 
         mPressedStateHelper = new PressedStateHelper();
 
+        mAccessibilityManager = (AccessibilityManager) context.getSystemService(
+                Context.ACCESSIBILITY_SERVICE);
+
         // By default Linearlayout that we extend is not drawn. This is
         // its draw() method is not called but dispatchDraw() is called
         // directly (see ViewGroup.drawChild()). However, this class uses
@@ -681,30 +978,34 @@ public class NumberPicker extends LinearLayout {
 
         // input text
         mInputText = findViewById(R.id.np__numberpicker_input);
-        mInputText.setOnClickListener(new OnClickListener() {
-            @Override
-            public void onClick(View v) {
-                mInputText.clearFocus();
-                mInputText.requestFocus();
-            }
-        });
+        if (!behavior.isWheelOnly()) {
+            mInputText.setOnClickListener(new OnClickListener() {
+                @Override
+                public void onClick(View v) {
+                    mInputText.clearFocus();
+                    mInputText.requestFocus();
+                }
+            });
+        }
 
-        /*mInputText.setOnFocusChangeListener(new OnFocusChangeListener() {
-            public void onFocusChange(View v, boolean hasFocus) {
-                if (hasFocus) {
-                    mInputText.selectAll();
-                } else {
-                    mInputText.setSelection(0, 0);
-                    validateInputTextView(v);
+        if (behavior.hasPlatformInput()) {
+            mInputText.setOnFocusChangeListener(new OnFocusChangeListener() {
+                public void onFocusChange(View v, boolean hasFocus) {
+                    if (hasFocus) {
+                        mInputText.selectAll();
+                    } else {
+                        mInputText.setSelection(0, 0);
+                        validateInputTextView(v);
+                    }
                 }
-            }
-        });
-        mInputText.setFilters(new InputFilter[]{
-                new InputTextFilter()
-        });
+            });
+            mInputText.setFilters(new InputFilter[]{
+                    new InputTextFilter()
+            });
 
-        mInputText.setRawInputType(InputType.TYPE_CLASS_NUMBER);
-        mInputText.setImeOptions(EditorInfo.IME_ACTION_DONE);*/
+            mInputText.setRawInputType(InputType.TYPE_CLASS_NUMBER);
+            mInputText.setImeOptions(EditorInfo.IME_ACTION_DONE);
+        }
 
         // initialize constants
         ViewConfiguration configuration = ViewConfiguration.get(context);
@@ -718,17 +1019,17 @@ public class NumberPicker extends LinearLayout {
         Paint paint = new Paint();
         paint.setAntiAlias(true);
         paint.setTextAlign(Align.CENTER);
-        paint.setFakeBoldText(true);
+        paint.setFakeBoldText(behavior.isTextBold());
         paint.setTextSize(mTextSize);
         paint.setTypeface(mInputText.getTypeface());
         ColorStateList colors = mInputText.getTextColors();
         int color = colors.getColorForState(ENABLED_STATE_SET, Color.WHITE);
         paint.setColor(color);
         mSelectorWheelPaint = paint;
-        Typeface plain = Typeface.createFromAsset(getContext().getAssets(), "fonts/Clock2017L.ttf");
+        Typeface plain = Pickers.getClockTypeface(getContext());
         paint.setTypeface(plain);
         mSelectorWheelPaint.setTypeface(plain);
-        mSelectorWheelPaint.setFakeBoldText(true);
+        mSelectorWheelPaint.setFakeBoldText(behavior.isTextBold());
         // create the fling and adjust scrollers
         mFlingScroller = new Scroller(getContext(), null, true);
         mAdjustScroller = new Scroller(getContext(), new DecelerateInterpolator(2.5f));
@@ -827,11 +1128,17 @@ public class NumberPicker extends LinearLayout {
         switch (action) {
             case MotionEvent.ACTION_DOWN: {
                 removeAllCallbacks();
-                //  mInputText.setVisibility(View.INVISIBLE);
+                if (mBehavior.isWheelOnly()) {
+                    mInputText.setVisibility(View.INVISIBLE);
+                }
                 mLastDownOrMoveEventY = mLastDownEventY = event.getY();
                 mLastDownEventTime = event.getEventTime();
                 mIngonreMoveEvents = false;
                 mShowSoftInputOnTap = false;
+                mLongPressRepeatStarted = false;
+                mKeyScrolling = false;
+                mSilentScroll = false;
+                mTouchResampler.reset();
                 // Handle pressed state before any state change.
                 if (mLastDownEventY < mTopSelectionDividerTop) {
                     if (mScrollState == OnScrollListener.SCROLL_STATE_IDLE) {
@@ -865,7 +1172,8 @@ public class NumberPicker extends LinearLayout {
                     mShowSoftInputOnTap = true;
                     postBeginSoftInputOnLongPressCommand();
                 }
-                return false;
+                // Without an input text to tap the wheel takes all touches.
+                return mBehavior.isWheelOnly();
             }
         }
         return false;
@@ -880,25 +1188,33 @@ public class NumberPicker extends LinearLayout {
             mVelocityTracker = VelocityTracker.obtain();
         }
         mVelocityTracker.addMovement(event);
+        mTouchResampler.addMovement(event);
         int action = event.getAction() & MotionEvent.ACTION_MASK;
         switch (action) {
             case MotionEvent.ACTION_MOVE: {
                 if (mIngonreMoveEvents) {
                     break;
                 }
-                float currentMoveY = event.getY();
+                // Follow the finger where it is at the frame time rather than
+                // where the last of the batched samples was.
+                final long frameTime = AnimationUtils.currentAnimationTimeMillis();
+                float currentMoveY = mTouchResampler.getY(
+                        frameTime - TOUCH_RESAMPLE_LATENCY + mTouchPrediction, mTouchPrediction);
                 if (mScrollState != OnScrollListener.SCROLL_STATE_TOUCH_SCROLL) {
-                    int deltaDownY = (int) Math.abs(currentMoveY - mLastDownEventY);
+                    int deltaDownY = (int) Math.abs(event.getY() - mLastDownEventY);
                     if (deltaDownY > mTouchSlop) {
                         removeAllCallbacks();
                         onScrollStateChange(OnScrollListener.SCROLL_STATE_TOUCH_SCROLL);
                     }
+                    mLastDownOrMoveEventY = currentMoveY;
                 } else {
                     int deltaMoveY = (int) ((currentMoveY - mLastDownOrMoveEventY));
-                    scrollBy(0, deltaMoveY);
-                    invalidate();
+                    if (deltaMoveY != 0) {
+                        scrollWheelBy(deltaMoveY);
+                    }
+                    // Keep the fraction of a pixel for the next move.
+                    mLastDownOrMoveEventY += deltaMoveY;
                 }
-                mLastDownOrMoveEventY = currentMoveY;
             }
             break;
             case MotionEvent.ACTION_UP: {
@@ -920,6 +1236,9 @@ public class NumberPicker extends LinearLayout {
                         if (mShowSoftInputOnTap) {
                             mShowSoftInputOnTap = false;
                             showSoftInput();
+                        } else if (mLongPressRepeatStarted) {
+                            // The long press has already changed the value.
+                            mLongPressRepeatStarted = false;
                         } else {
                             int selectorIndexOffset = (eventY / mSelectorElementHeight)
                                     - SELECTOR_MIDDLE_ITEM_INDEX;
@@ -968,19 +1287,42 @@ public class NumberPicker extends LinearLayout {
                 break;
             case KeyEvent.KEYCODE_DPAD_DOWN:
             case KeyEvent.KEYCODE_DPAD_UP:
+            case KeyEvent.KEYCODE_PAGE_DOWN:
+            case KeyEvent.KEYCODE_PAGE_UP:
+            case KeyEvent.KEYCODE_MOVE_HOME:
+            case KeyEvent.KEYCODE_MOVE_END:
                 if (!mHasSelectorWheel) {
                     break;
                 }
                 switch (event.getAction()) {
                     case KeyEvent.ACTION_DOWN:
-                        if (mWrapSelectorWheel || (keyCode == KeyEvent.KEYCODE_DPAD_DOWN)
-                                ? getValue() < getMaxValue() : getValue() > getMinValue()) {
+                        // Repeated keys move the target of the running
+                        // scroll instead of queueing further animations.
+                        final long current = (mKeyScrolling && !mFlingScroller.isFinished())
+                                ? mKeyTargetValue : mValue;
+                        final long target = getKeyTargetValue(keyCode, current);
+                        if (target != current) {
                             requestFocus();
                             mLastHandledDownDpadKeyCode = keyCode;
                             removeAllCallbacks();
-                            if (mFlingScroller.isFinished()) {
-                                changeValueByOne(keyCode == KeyEvent.KEYCODE_DPAD_DOWN);
+                            final boolean forward = keyCode == KeyEvent.KEYCODE_DPAD_DOWN
+                                    || keyCode == KeyEvent.KEYCODE_PAGE_DOWN
+                                    || keyCode == KeyEvent.KEYCODE_MOVE_END;
+                            final int steps = getStepsTo(target, forward);
+                            if (Math.abs((long) steps * mSelectorElementHeight)
+                                    > MAX_KEY_SCROLL_DISTANCE) {
+                                mFlingScroller.forceFinished(true);
+                                mAdjustScroller.forceFinished(true);
+                                mKeyScrolling = false;
+                                mCurrentScrollOffset = mInitialScrollOffset;
+                                setValueInternal(target, true);
+                                onScrollStateChange(OnScrollListener.SCROLL_STATE_IDLE);
+                                return true;
                             }
+                            mKeyTargetValue = target;
+                            mKeyScrolling = true;
+                            mSilentScroll = false;
+                            smoothScrollBySteps(steps);
                             return true;
                         }
                         break;
@@ -995,6 +1337,120 @@ public class NumberPicker extends LinearLayout {
         return super.dispatchKeyEvent(event);
     }
 
+    /**
+     * @return The value a press of <code>keyCode</code> moves to from <code>current</code>.
+     */
+    private long getKeyTargetValue(int keyCode, long current) {
+        switch (keyCode) {
+            case KeyEvent.KEYCODE_DPAD_DOWN:
+                return stepValue(current, 1);
+            case KeyEvent.KEYCODE_DPAD_UP:
+                return stepValue(current, -1);
+            case KeyEvent.KEYCODE_PAGE_DOWN:
+                return stepValue(current, KEY_PAGE_STEPS);
+            case KeyEvent.KEYCODE_PAGE_UP:
+                return stepValue(current, -KEY_PAGE_STEPS);
+            case KeyEvent.KEYCODE_MOVE_HOME:
+                return mMinValue;
+            case KeyEvent.KEYCODE_MOVE_END:
+                return mMaxValue;
+        }
+        return current;
+    }
+
+    /**
+     * @return The number of values between the current value and
+     * <code>target</code>, negative if towards smaller values, and at most
+     * {@link Integer#MAX_VALUE} either way. If the wheel wraps the count
+     * follows the direction given by <code>forward</code>.
+     */
+    private int getStepsTo(long target, boolean forward) {
+        if (mValueDomain != null) {
+            int steps = mValueDomain.indexOf((int) target) - mValueDomain.indexOf((int) mValue);
+            if (mWrapSelectorWheel) {
+                final int count = mValueDomain.size();
+                steps = (int) (forward ? floorMod(steps, count) : -floorMod(-steps, count));
+            }
+            return steps;
+        }
+        final boolean up = mWrapSelectorWheel ? forward : target >= mValue;
+        final long distance = up
+                ? getRange().distance(mValue, target) : getRange().distance(target, mValue);
+        final int steps = (LongRange.compareUnsigned(distance, Integer.MAX_VALUE) > 0)
+                ? Integer.MAX_VALUE : (int) distance;
+        return up ? steps : -steps;
+    }
+
+    /**
+     * @return The allowed value <code>steps</code> values after the allowed
+     * <code>value</code>, or before it if negative, wrapping around or
+     * stopping at the ends like the wheel.
+     */
+    private long stepValue(long value, long steps) {
+        if (mValueDomain != null) {
+            final int count = mValueDomain.size();
+            long index = mValueDomain.indexOf((int) value) + steps;
+            if (mWrapSelectorWheel) {
+                index = floorMod(index, count);
+            } else {
+                index = Math.max(0, Math.min(index, count - 1));
+            }
+            return mValueDomain.valueAt((int) index);
+        }
+        return getRange().step(value, steps, mWrapSelectorWheel);
+    }
+
+    /**
+     * Scrolls the wheel by <code>steps</code> values from where it currently
+     * is, replacing any running scroll. The duration grows with the distance
+     * but is bounded.
+     */
+    private void smoothScrollBySteps(int steps) {
+        mFlingScroller.forceFinished(true);
+        mAdjustScroller.forceFinished(true);
+        final int dy = -steps * mSelectorElementHeight
+                - (mCurrentScrollOffset - mInitialScrollOffset);
+        if (dy == 0) {
+            return;
+        }
+        final int duration = Math.min(MAX_SMOOTH_SCROLL_DURATION,
+                SNAP_SCROLL_DURATION + SMOOTH_SCROLL_STEP_DURATION * (Math.abs(steps) - 1));
+        mPreviousScrollerY = 0;
+        mFlingScroller.startScroll(0, 0, 0, dy, Math.max(duration, SNAP_SCROLL_DURATION));
+        invalidateRegions(REGION_WHEEL);
+    }
+
+    private static long floorMod(long x, long y) {
+        final long mod = x % y;
+        return (mod < 0) ? mod + y : mod;
+    }
+
+    @Override
+    public boolean onGenericMotionEvent(MotionEvent event) {
+        if (mHasSelectorWheel && isEnabled()
+                && (event.getAction() & MotionEvent.ACTION_MASK) == MotionEvent.ACTION_SCROLL) {
+            final float notches;
+            if ((event.getSource() & InputDevice.SOURCE_CLASS_POINTER) != 0) {
+                // Mouse wheels and touchpads, positive is towards smaller values.
+                notches = event.getAxisValue(MotionEvent.AXIS_VSCROLL);
+            } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O
+                    && event.isFromSource(InputDevice.SOURCE_ROTARY_ENCODER)) {
+                notches = event.getAxisValue(MotionEvent.AXIS_SCROLL);
+            } else {
+                notches = 0;
+            }
+            if (notches != 0 && mSelectorElementHeight > 0) {
+                if (mGenericScrollCommand == null) {
+                    mGenericScrollCommand = new GenericScrollCommand();
+                }
+                // One notch moves the wheel by one value.
+                mGenericScrollCommand.add(notches * mSelectorElementHeight);
+                return true;
+            }
+        }
+        return super.onGenericMotionEvent(event);
+    }
+
     @Override
     public boolean dispatchTrackballEvent(MotionEvent event) {
         final int action = event.getAction() & MotionEvent.ACTION_MASK;
@@ -1013,7 +1469,7 @@ public class NumberPicker extends LinearLayout {
             return super.dispatchHoverEvent(event);
         }
 
-        if (((AccessibilityManager) getContext().getSystemService(Context.ACCESSIBILITY_SERVICE)).isEnabled()) {
+        if (mAccessibilityManager != null && mAccessibilityManager.isEnabled()) {
             final int eventY = (int) event.getY();
             final int hoveredVirtualViewId;
             if (eventY < mTopSelectionDividerTop) {
@@ -1062,6 +1518,9 @@ public class NumberPicker extends LinearLayout {
 
     @Override
     public void computeScroll() {
+        // Called from draw and from the posted command, either advances the
+        // scroller for this frame, so a posted copy must not run again.
+        removeCallbacks(mComputeScrollCommand);
         Scroller scroller = mFlingScroller;
         if (scroller.isFinished()) {
             scroller = mAdjustScroller;
@@ -1074,12 +1533,13 @@ public class NumberPicker extends LinearLayout {
         if (mPreviousScrollerY == 0) {
             mPreviousScrollerY = scroller.getStartY();
         }
-        scrollBy(0, currentScrollerY - mPreviousScrollerY);
+        final boolean moved = scrollWheelBy(currentScrollerY - mPreviousScrollerY);
         mPreviousScrollerY = currentScrollerY;
         if (scroller.isFinished()) {
             onScrollerFinished(scroller);
-        } else {
-            invalidate();
+        } else if (!moved) {
+            // Nothing to draw this frame, keep the scroller going without a redraw.
+            postOnAnimation(mComputeScrollCommand);
         }
     }
 
@@ -1092,12 +1552,14 @@ public class NumberPicker extends LinearLayout {
         if (!mHasSelectorWheel) {
             mDecrementButton.setEnabled(enabled);
         }
-        //  mInputText.setEnabled(enabled);
+        if (mBehavior.hasPlatformInput()) {
+            mInputText.setEnabled(enabled);
+        }
     }
 
     @Override
     public void scrollBy(int x, int y) {
-        int[] selectorIndices = mSelectorIndices;
+        long[] selectorIndices = mSelectorIndices;
         if (!mWrapSelectorWheel && y > 0
                 && selectorIndices[SELECTOR_MIDDLE_ITEM_INDEX] <= mMinValue) {
             mCurrentScrollOffset = mInitialScrollOffset;
@@ -1112,7 +1574,7 @@ public class NumberPicker extends LinearLayout {
         while (mCurrentScrollOffset - mInitialScrollOffset > mSelectorTextGapHeight) {
             mCurrentScrollOffset -= mSelectorElementHeight;
             decrementSelectorIndices(selectorIndices);
-            setValueInternal(selectorIndices[SELECTOR_MIDDLE_ITEM_INDEX], true);
+            setValueInternal(selectorIndices[SELECTOR_MIDDLE_ITEM_INDEX], !mSilentScroll);
             if (!mWrapSelectorWheel && selectorIndices[SELECTOR_MIDDLE_ITEM_INDEX] <= mMinValue) {
                 mCurrentScrollOffset = mInitialScrollOffset;
             }
@@ -1120,13 +1582,74 @@ public class NumberPicker extends LinearLayout {
         while (mCurrentScrollOffset - mInitialScrollOffset < -mSelectorTextGapHeight) {
             mCurrentScrollOffset += mSelectorElementHeight;
             incrementSelectorIndices(selectorIndices);
-            setValueInternal(selectorIndices[SELECTOR_MIDDLE_ITEM_INDEX], true);
+            setValueInternal(selectorIndices[SELECTOR_MIDDLE_ITEM_INDEX], !mSilentScroll);
             if (!mWrapSelectorWheel && selectorIndices[SELECTOR_MIDDLE_ITEM_INDEX] >= mMaxValue) {
                 mCurrentScrollOffset = mInitialScrollOffset;
             }
         }
     }
 
+    /**
+     * Scrolls the selector wheel by <code>y</code> and invalidates it if that
+     * moved the wheel, a step of less than a pixel or one against the end of
+     * a non wrapping wheel draws nothing new.
+     *
+     * @return Whether the wheel moved.
+     */
+    private boolean scrollWheelBy(int y) {
+        final int previousOffset = mCurrentScrollOffset;
+        final long previousValue = mValue;
+        scrollBy(0, y);
+        if (mCurrentScrollOffset == previousOffset && mValue == previousValue) {
+            return false;
+        }
+        invalidateRegions(REGION_WHEEL);
+        return true;
+    }
+
+    /**
+     * Invalidates the given regions only, rather than the whole picker.
+     *
+     * @param regions A combination of {@link #REGION_WHEEL},
+     *                {@link #REGION_DIVIDERS},
+     *                {@link #REGION_DECREMENT_BUTTON} and
+     *                {@link #REGION_INCREMENT_BUTTON}.
+     */
+    private void invalidateRegions(int regions) {
+        final int width = getWidth();
+        if ((regions & REGION_WHEEL) != 0) {
+            // The items are centered, with some slack for glyphs overhanging
+            // their advance, e.g. bold ones.
+            final int halfColumnWidth = mWidestItemWidth / 2 + mTextSize / 8 + 1;
+            invalidate(Math.max(0, width / 2 - halfColumnWidth), mWheelBandTop,
+                    Math.min(width, width / 2 + halfColumnWidth), mWheelBandBottom);
+        }
+        if ((regions & REGION_DIVIDERS) != 0) {
+            invalidate(0, mTopSelectionDividerTop,
+                    width, mTopSelectionDividerTop + mSelectionDividerHeight);
+            invalidate(0, mBottomSelectionDividerBottom - mSelectionDividerHeight,
+                    width, mBottomSelectionDividerBottom);
+        }
+        if ((regions & REGION_DECREMENT_BUTTON) != 0) {
+            invalidate(0, 0, width, mTopSelectionDividerTop);
+        }
+        if ((regions & REGION_INCREMENT_BUTTON) != 0) {
+            invalidate(0, mBottomSelectionDividerBottom, width, getHeight());
+        }
+    }
+
+    @Override
+    protected void drawableStateChanged() {
+        super.drawableStateChanged();
+        final Drawable selectionDivider = mSelectionDivider;
+        if (selectionDivider != null && selectionDivider.isStateful()
+                && selectionDivider.setState(getDrawableState())) {
+            // E.g. dividers tinted while the picker is focused.
+            releaseDecorationCache();
+            invalidateRegions(REGION_DIVIDERS);
+        }
+    }
+
     @Override
     public int getSolidColor() {
         return mSolidColor;
@@ -1141,6 +1664,19 @@ public class NumberPicker extends LinearLayout {
         mOnValueChangeListener = onValueChangedListener;
     }
 
+    /**
+     * Sets the listener to be notified on change of the current value with
+     * long values, for pickers set to a {@link LongRange}. It is notified
+     * along with the listener set by
+     * {@link #setOnValueChangedListener(OnValueChangeListener)}.
+     *
+     * @param onLongValueChangedListener The listener.
+     */
+    public void setOnLongValueChangedListener(
+            OnLongValueChangeListener onLongValueChangedListener) {
+        mOnLongValueChangeListener = onLongValueChangedListener;
+    }
+
     /**
      * Set listener to be notified for scroll state changes.
      *
@@ -1160,6 +1696,7 @@ public class NumberPicker extends LinearLayout {
      * @param formatter The formatter object. If formatter is <code>null</code>,
      *                  {@link String#valueOf(int)} will be used.
      * @see #setDisplayedValues(String[])
+     * @see #setLongRange(LongRange, LongFormatter, boolean)
      */
     public void setFormatter(Formatter formatter) {
         if (formatter == mFormatter) {
@@ -1202,10 +1739,121 @@ public class NumberPicker extends LinearLayout {
         setValueInternal(value, false);
     }
 
+    /**
+     * Set the current value for the number picker, optionally scrolling the
+     * selector wheel to it.
+     * <p>
+     * The animation takes a bounded time regardless of the distance: a far
+     * value is first jumped close to, then only the last few values are
+     * scrolled through. Like {@link #setValue(int)} no change is reported to
+     * the {@link OnValueChangeListener}. {@link #getValue()} returns
+     * <code>value</code> once the animation has ended.
+     * </p>
+     *
+     * @param value   The current value.
+     * @param animate Whether to scroll to the value.
+     * @see #setValue(int)
+     */
+    public void setValue(int value, boolean animate) {
+        setLongValue(value, animate);
+    }
+
+    /**
+     * Set the current value for a number picker set to a {@link LongRange}.
+     *
+     * @param value The current value.
+     * @see #setValue(int)
+     * @see #setLongRange(LongRange, LongFormatter, boolean)
+     */
+    public void setLongValue(long value) {
+        setValueInternal(value, false);
+    }
+
+    /**
+     * Set the current value for a number picker set to a {@link LongRange},
+     * optionally scrolling the selector wheel to it.
+     *
+     * @param value   The current value.
+     * @param animate Whether to scroll to the value.
+     * @see #setValue(int, boolean)
+     */
+    public void setLongValue(long value, boolean animate) {
+        if (!animate || !mHasSelectorWheel || mSelectorElementHeight == 0 || !isShown()) {
+            setLongValue(value);
+            return;
+        }
+        final long target = getAllowedValue(value);
+        int steps = getStepsTo(target, true);
+        if (mWrapSelectorWheel) {
+            // Take the shorter way around.
+            final int backwardSteps = getStepsTo(target, false);
+            if (-backwardSteps < steps) {
+                steps = backwardSteps;
+            }
+        }
+        removeAllCallbacks();
+        mKeyScrolling = false;
+        if (Math.abs(steps) > SMOOTH_SCROLL_WINDOW) {
+            // Skip the values out of sight at once, only the wheel strings
+            // of the new position are formatted.
+            mFlingScroller.forceFinished(true);
+            mAdjustScroller.forceFinished(true);
+            mCurrentScrollOffset = mInitialScrollOffset;
+            final int window = (steps > 0) ? SMOOTH_SCROLL_WINDOW : -SMOOTH_SCROLL_WINDOW;
+            setValueInternal(stepValue(target, -window), false);
+            steps = window;
+        }
+        mSilentScroll = true;
+        smoothScrollBySteps(steps);
+    }
+
+    /**
+     * Shows <code>value</code> on a picker which is reused, e.g. in a list
+     * item. Any running scroll is dropped, then the value is set like
+     * {@link #setValue(int)}: the listener is not notified and nothing is
+     * animated or laid out.
+     *
+     * @param value The current value.
+     * @see #unbind()
+     */
+    public void bind(int value) {
+        unbind();
+        setValueInternal(value, false);
+    }
+
+    /**
+     * Makes a picker clean for reuse. Running scrolls are dropped without
+     * settling, which leaves the current value as it is, and all posted
+     * commands are removed. If the picker was scrolling the
+     * {@link OnScrollListener} is told that it is idle.
+     *
+     * @see #bind(int)
+     */
+    public void unbind() {
+        removeAllCallbacks();
+        mFlingScroller.forceFinished(true);
+        mAdjustScroller.forceFinished(true);
+        mKeyScrolling = false;
+        mSilentScroll = false;
+        mLastHandledDownDpadKeyCode = -1;
+        if (mCurrentScrollOffset != mInitialScrollOffset) {
+            mCurrentScrollOffset = mInitialScrollOffset;
+            invalidateRegions(REGION_WHEEL);
+        }
+        if (mVelocityTracker != null) {
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+        onScrollStateChange(OnScrollListener.SCROLL_STATE_IDLE);
+    }
+
     /**
      * Shows the soft input for its input text.
      */
     private void showSoftInput() {
+        if (mBehavior.isWheelOnly()) {
+            return;
+        }
         InputMethodManager inputMethodManager = (InputMethodManager) getContext().getSystemService(Context.INPUT_METHOD_SERVICE);
         if (inputMethodManager != null) {
             if (mHasSelectorWheel) {
@@ -1231,13 +1879,21 @@ public class NumberPicker extends LinearLayout {
 
     /**
      * Computes the max width if no such specified as an attribute.
+     *
+     * @return True if the max width changed.
      */
-    private void tryComputeMaxWidth() {
+    private boolean tryComputeMaxWidth() {
         if (!mComputeMaxWidth) {
-            return;
+            return false;
         }
         int maxTextWidth = 0;
-        if (mDisplayedValues == null) {
+        if (mDisplayedValues == null && mLongFormatter != null) {
+            // A long range has too many values to measure, its ends stand
+            // for them.
+            maxTextWidth = (int) Math.max(
+                    mSelectorWheelPaint.measureText(mLongFormatter.format(mMinValue)),
+                    mSelectorWheelPaint.measureText(mLongFormatter.format(mMaxValue)));
+        } else if (mDisplayedValues == null) {
             float maxDigitWidth = 0;
             for (int i = 0; i <= 9; i++) {
                 final float digitWidth = mSelectorWheelPaint.measureText(formatNumberWithLocale(i));
@@ -1246,7 +1902,7 @@ public class NumberPicker extends LinearLayout {
                 }
             }
             int numberOfDigits = 0;
-            int current = mMaxValue;
+            long current = mMaxValue;
             while (current > 0) {
                 numberOfDigits++;
                 current = current / 10;
@@ -1269,7 +1925,9 @@ public class NumberPicker extends LinearLayout {
                 mMaxWidth = mMinWidth;
             }
             invalidate();
+            return true;
         }
+        return false;
     }
 
     /**
@@ -1301,7 +1959,11 @@ public class NumberPicker extends LinearLayout {
      * @param wrapSelectorWheel Whether to wrap.
      */
     public void setWrapSelectorWheel(boolean wrapSelectorWheel) {
-        final boolean wrappingAllowed = (mMaxValue - mMinValue) >= mSelectorIndices.length;
+        if (!wrapSelectorWheel && mMinValue == Long.MIN_VALUE && mMaxValue == Long.MAX_VALUE) {
+            // A range of all long values has no ends to stop at.
+            return;
+        }
+        final boolean wrappingAllowed = isWrappingAllowed();
         if ((!wrapSelectorWheel || wrappingAllowed) && wrapSelectorWheel != mWrapSelectorWheel) {
             mWrapSelectorWheel = wrapSelectorWheel;
         }
@@ -1321,12 +1983,62 @@ public class NumberPicker extends LinearLayout {
         mLongPressUpdateInterval = intervalMillis;
     }
 
+    /**
+     * Sets how far ahead the wheel follows the predicted position of the
+     * finger while it is dragged, which reduces the perceived touch latency
+     * at the cost of a small overshoot when the finger stops abruptly.
+     * <p>
+     * The default is 0, the wheel follows the sampled positions only.
+     * </p>
+     *
+     * @param predictionMillis The prediction time, up to 16 ms.
+     */
+    public void setTouchPrediction(long predictionMillis) {
+        if (predictionMillis < 0 || predictionMillis > MAX_TOUCH_PREDICTION) {
+            throw new IllegalArgumentException("predictionMillis must be in the range (0-"
+                    + MAX_TOUCH_PREDICTION + ")");
+        }
+        mTouchPrediction = predictionMillis;
+    }
+
+    /**
+     * Makes long presses on the up and down areas accelerate. The rate starts
+     * at one value per {@link #setOnLongPressUpdateInterval(long) update interval}
+     * and follows <code>rampCurve</code> up to <code>maxValuesPerSecond</code>.
+     * With a selector wheel the values scroll by continuously, one frame at a
+     * time, instead of snapping from one value to the next.
+     *
+     * @param rampCurve          The shape of the ramp, null to repeat at the
+     *                           fixed update interval.
+     * @param rampDurationMillis The time to reach the max rate.
+     * @param maxValuesPerSecond The max rate.
+     */
+    public void setLongPressAcceleration(Interpolator rampCurve, long rampDurationMillis,
+                                         float maxValuesPerSecond) {
+        if (rampCurve != null && (rampDurationMillis < 0 || maxValuesPerSecond <= 0)) {
+            throw new IllegalArgumentException("rampDurationMillis must be >= 0 and "
+                    + "maxValuesPerSecond must be > 0");
+        }
+        mLongPressRampCurve = rampCurve;
+        mLongPressRampDuration = rampDurationMillis;
+        mLongPressMaxRate = maxValuesPerSecond;
+    }
+
     /**
      * Returns the value of the picker.
      *
      * @return The value.
      */
     public int getValue() {
+        return (int) mValue;
+    }
+
+    /**
+     * Returns the value of a picker set to a {@link LongRange}.
+     *
+     * @return The value.
+     */
+    public long getLongValue() {
         return mValue;
     }
 
@@ -1336,7 +2048,7 @@ public class NumberPicker extends LinearLayout {
      * @return The min value
      */
     public int getMinValue() {
-        return mMinValue;
+        return (int) mMinValue;
     }
 
     /**
@@ -1348,6 +2060,8 @@ public class NumberPicker extends LinearLayout {
      *                 set via {@link #setDisplayedValues(String[])} must be equal to the
      *                 range of selectable numbers which is equal to
      *                 {@link #getMaxValue()} - {@link #getMinValue()} + 1.
+     *                 Any value domain set via {@link #setValueDomain(ValueDomain)}
+     *                 is cleared.
      */
     public void setMinValue(int minValue) {
         if (mMinValue == minValue) {
@@ -1356,12 +2070,12 @@ public class NumberPicker extends LinearLayout {
         if (minValue < 0) {
             throw new IllegalArgumentException("minValue must be >= 0");
         }
+        mValueDomain = null;
         mMinValue = minValue;
         if (mMinValue > mValue) {
             mValue = mMinValue;
         }
-        boolean wrapSelectorWheel = mMaxValue - mMinValue > mSelectorIndices.length;
-        setWrapSelectorWheel(wrapSelectorWheel);
+        setWrapSelectorWheel(isWrappingAllowed());
         initializeSelectorWheelIndices();
         updateInputTextView();
         tryComputeMaxWidth();
@@ -1374,7 +2088,7 @@ public class NumberPicker extends LinearLayout {
      * @return The max value.
      */
     public int getMaxValue() {
-        return mMaxValue;
+        return (int) mMaxValue;
     }
 
     /**
@@ -1386,6 +2100,8 @@ public class NumberPicker extends LinearLayout {
      *                 set via {@link #setDisplayedValues(String[])} must be equal to the
      *                 range of selectable numbers which is equal to
      *                 {@link #getMaxValue()} - {@link #getMinValue()} + 1.
+     *                 Any value domain set via {@link #setValueDomain(ValueDomain)}
+     *                 is cleared.
      */
     public void setMaxValue(int maxValue) {
         if (mMaxValue == maxValue) {
@@ -1394,12 +2110,54 @@ public class NumberPicker extends LinearLayout {
         if (maxValue < 0) {
             throw new IllegalArgumentException("maxValue must be >= 0");
         }
+        mValueDomain = null;
         mMaxValue = maxValue;
         if (mMaxValue < mValue) {
             mValue = mMaxValue;
         }
-        boolean wrapSelectorWheel = mMaxValue - mMinValue > mSelectorIndices.length;
-        setWrapSelectorWheel(wrapSelectorWheel);
+        setWrapSelectorWheel(isWrappingAllowed());
+        initializeSelectorWheelIndices();
+        updateInputTextView();
+        tryComputeMaxWidth();
+        invalidate();
+    }
+
+    /**
+     * Returns the value domain of the picker.
+     *
+     * @return The value domain, or null if all values from
+     * {@link #getMinValue()} to {@link #getMaxValue()} are allowed.
+     */
+    public ValueDomain getValueDomain() {
+        return mValueDomain;
+    }
+
+    /**
+     * Restricts the picker to the values of <code>valueDomain</code>, e.g.
+     * {@link ValueDomain#stepped(int, int, int)} for minutes in steps of 15.
+     * The min and max values become those of the domain and the current value
+     * is moved to the nearest allowed value.
+     *
+     * @param valueDomain The allowed values, or null to allow all values from
+     *                    {@link #getMinValue()} to {@link #getMaxValue()}.
+     *                    <p>
+     *                    <strong>Note:</strong> The length of the displayed values array
+     *                    set via {@link #setDisplayedValues(String[])} must be equal to
+     *                    {@link ValueDomain#size()}, its n-th element is displayed for the
+     *                    n-th value of the domain.
+     */
+    public void setValueDomain(ValueDomain valueDomain) {
+        if (mValueDomain == valueDomain
+                || (valueDomain != null && valueDomain.equals(mValueDomain))) {
+            return;
+        }
+        mValueDomain = valueDomain;
+        if (valueDomain != null) {
+            mMinValue = valueDomain.getMinValue();
+            mMaxValue = valueDomain.getMaxValue();
+            mValue = valueDomain.nearest((int) Math.max(mMinValue, Math.min(mValue, mMaxValue)));
+        }
+        setWrapSelectorWheel(isWrappingAllowed());
         initializeSelectorWheelIndices();
         updateInputTextView();
         tryComputeMaxWidth();
@@ -1422,38 +2180,422 @@ public class NumberPicker extends LinearLayout {
      *                        <p>
      *                        <strong>Note:</strong> The length of the displayed values array
      *                        must be equal to the range of selectable numbers which is equal to
-     *                        {@link #getMaxValue()} - {@link #getMinValue()} + 1.
+     *                        {@link #getMaxValue()} - {@link #getMinValue()} + 1, or to the
+     *                        size of the value domain if one is set.
      */
     public void setDisplayedValues(String[] displayedValues) {
         if (mDisplayedValues == displayedValues) {
             return;
         }
         mDisplayedValues = displayedValues;
+        updateInputType();
+        updateInputTextView();
+        initializeSelectorWheelIndices();
+        tryComputeMaxWidth();
+    }
+
+    /**
+     * Sets the keyboard of the input text to match the displayed values, if
+     * the input text takes typed values.
+     */
+    private void updateInputType() {
+        if (!mBehavior.hasPlatformInput()) {
+            return;
+        }
         if (mDisplayedValues != null) {
             // Allow text entry rather than strictly numeric entry.
-           /* mInputText.setRawInputType(InputType.TYPE_CLASS_TEXT
-                    | InputType.TYPE_TEXT_FLAG_NO_SUGGESTIONS);*/
+            mInputText.setRawInputType(InputType.TYPE_CLASS_TEXT
+                    | InputType.TYPE_TEXT_FLAG_NO_SUGGESTIONS);
         } else {
-            // mInputText.setRawInputType(InputType.TYPE_CLASS_NUMBER);
+            mInputText.setRawInputType(InputType.TYPE_CLASS_NUMBER);
         }
+    }
+
+    /**
+     * Sets the range, the labels and the wrapping of the picker at once.
+     * <p>
+     * Unlike calling {@link #setMinValue(int)}, {@link #setMaxValue(int)},
+     * {@link #setDisplayedValues(String[])}, {@link #setFormatter(Formatter)}
+     * and {@link #setWrapSelectorWheel(boolean)} one after the other, the
+     * arguments are validated together and the selector wheel, the max width
+     * and the layout are updated only once. Any value domain set via
+     * {@link #setValueDomain(ValueDomain)} is cleared and the current value is
+     * clamped to the new range without notifying the listener.
+     * </p>
+     *
+     * @param minValue          The min value inclusive.
+     * @param maxValue          The max value inclusive.
+     * @param displayedValues   The displayed values, or null to format the values.
+     *                          Its length must be <code>maxValue - minValue + 1</code>.
+     * @param formatter         The formatter used if there are no displayed
+     *                          values, or null for {@link String#valueOf(int)}.
+     * @param wrapSelectorWheel Whether to wrap, ignored if the range is not
+     *                          larger than the number of items on the wheel.
+     */
+    public void configure(int minValue, int maxValue, String[] displayedValues,
+                          Formatter formatter, boolean wrapSelectorWheel) {
+        if (minValue < 0) {
+            throw new IllegalArgumentException("minValue must be >= 0");
+        }
+        if (maxValue < minValue) {
+            throw new IllegalArgumentException("maxValue must be >= minValue");
+        }
+        if (displayedValues != null && displayedValues.length != maxValue - minValue + 1) {
+            throw new IllegalArgumentException("displayedValues length must be "
+                    + (maxValue - minValue + 1));
+        }
+        if (mValueDomain == null && mMinValue == minValue && mMaxValue == maxValue
+                && mDisplayedValues == displayedValues && mFormatter == formatter
+                && mLongFormatter == null && mWrapSelectorWheel == (wrapSelectorWheel
+                && maxValue - minValue + 1 > mSelectorIndices.length)) {
+            return;
+        }
+        mValueDomain = null;
+        mMinValue = minValue;
+        mMaxValue = maxValue;
+        mValue = Math.max(minValue, Math.min(mValue, maxValue));
+        mDisplayedValues = displayedValues;
+        updateInputType();
+        mFormatter = formatter;
+        mLongFormatter = null;
+        mWrapSelectorWheel = false;
+        setWrapSelectorWheel(wrapSelectorWheel);
+        initializeSelectorWheelIndices();
         updateInputTextView();
+        if (tryComputeMaxWidth()) {
+            requestLayout();
+        }
+        invalidate();
+    }
+
+    /**
+     * Returns the range of the picker.
+     *
+     * @return The range from the min to the max value.
+     */
+    public LongRange getLongRange() {
+        return getRange();
+    }
+
+    /**
+     * Sets the picker to a range of long values, e.g. epoch seconds, and the
+     * formatting and wrapping of its values at once, like
+     * {@link #configure(int, int, String[], Formatter, boolean)}. The values
+     * are picked by {@link #getLongValue()} and {@link #setLongValue(long)},
+     * changes are reported to the
+     * {@link #setOnLongValueChangedListener(OnLongValueChangeListener) long listener}.
+     * <p>
+     * Wrapping and stepping through the range are exact for any range, only
+     * the selector wheel values are formatted, however large the range is.
+     * Any value domain and displayed values are cleared and the current value
+     * is clamped to the range without notifying the listener. A range of all
+     * long values always wraps.
+     * </p>
+     *
+     * @param range             The range of values.
+     * @param formatter         The formatter of the values, or null for
+     *                          {@link String#valueOf(long)}.
+     * @param wrapSelectorWheel Whether to wrap, ignored if the range is not
+     *                          larger than the number of items on the wheel.
+     */
+    public void setLongRange(LongRange range, LongFormatter formatter,
+                             boolean wrapSelectorWheel) {
+        if (range == null) {
+            throw new IllegalArgumentException("range must not be null");
+        }
+        mValueDomain = null;
+        mMinValue = range.getMinValue();
+        mMaxValue = range.getMaxValue();
+        mRange = range;
+        mValue = range.clamp(mValue);
+        mDisplayedValues = null;
+        updateInputType();
+        mFormatter = null;
+        mLongFormatter = formatter;
+        mWrapSelectorWheel = false;
+        setWrapSelectorWheel(wrapSelectorWheel || range.isFull());
         initializeSelectorWheelIndices();
-        tryComputeMaxWidth();
+        updateInputTextView();
+        if (tryComputeMaxWidth()) {
+            requestLayout();
+        }
+        invalidate();
+    }
+
+    @Override
+    protected Parcelable onSaveInstanceState() {
+        Parcelable superState = super.onSaveInstanceState();
+        return new SavedState(superState, mValue, mWrapSelectorWheel);
+    }
+
+    @Override
+    protected void onRestoreInstanceState(Parcelable state) {
+        SavedState ss = (SavedState) state;
+        super.onRestoreInstanceState(ss.getSuperState());
+        if (!ss.isValid()) {
+            return;
+        }
+        // Apply without notifying the listener, like setValue(int).
+        setWrapSelectorWheel(ss.getWrapSelectorWheel());
+        setValueInternal(ss.getValue(), false);
+    }
+
+    /**
+     * Used to save / restore state of number picker. The whole state is packed
+     * into a single long, like the state of {@link TimePicker}:
+     * <pre>
+     * bits 0-47  value, signed
+     * bit  48    wrap selector wheel
+     * bit  49    value too wide for bits 0-47
+     * bits 56-63 format version
+     * </pre>
+     * Only a value which does not fit into 48 bits, e.g. from a range set by
+     * {@link #setLongRange(LongRange, LongFormatter, boolean)} near the ends
+     * of long, is written as a second long after the state.
+     */
+    static class SavedState extends BaseSavedState {
+
+        private static final long VERSION = 3;
+
+        private static final int VALUE_BITS = 48;
+
+        private static final long VALUE_MASK = (1L << VALUE_BITS) - 1;
+
+        private static final long FLAG_WRAP_SELECTOR_WHEEL = 1L << 48;
+
+        private static final long FLAG_WIDE_VALUE = 1L << 49;
+
+        private static final int VERSION_SHIFT = 56;
+
+        private final long mState;
+
+        private final long mValue;
+
+        SavedState(Parcelable superState, long value, boolean wrapSelectorWheel) {
+            super(superState);
+            final boolean wide = value << (64 - VALUE_BITS) >> (64 - VALUE_BITS) != value;
+            mState = VERSION << VERSION_SHIFT
+                    | (wide ? FLAG_WIDE_VALUE : value & VALUE_MASK)
+                    | (wrapSelectorWheel ? FLAG_WRAP_SELECTOR_WHEEL : 0);
+            mValue = value;
+        }
+
+        private SavedState(Parcel in) {
+            super(in);
+            mState = in.readLong();
+            if (!isValid()) {
+                mValue = 0;
+            } else if ((mState & FLAG_WIDE_VALUE) != 0) {
+                mValue = in.readLong();
+            } else {
+                // Sign extends the packed value.
+                mValue = mState << (64 - VALUE_BITS) >> (64 - VALUE_BITS);
+            }
+        }
+
+        /**
+         * @return False if the state was written by an incompatible version.
+         */
+        boolean isValid() {
+            return mState >>> VERSION_SHIFT == VERSION;
+        }
+
+        long getValue() {
+            return mValue;
+        }
+
+        boolean getWrapSelectorWheel() {
+            return (mState & FLAG_WRAP_SELECTOR_WHEEL) != 0;
+        }
+
+        @Override
+        public void writeToParcel(Parcel dest, int flags) {
+            super.writeToParcel(dest, flags);
+            dest.writeLong(mState);
+            if ((mState & FLAG_WIDE_VALUE) != 0) {
+                dest.writeLong(mValue);
+            }
+        }
+
+        @SuppressWarnings({"unused", "hiding"})
+        public static final Creator<SavedState> CREATOR = new Creator<SavedState>() {
+            public SavedState createFromParcel(Parcel in) {
+                return new SavedState(in);
+            }
+
+            public SavedState[] newArray(int size) {
+                return new SavedState[size];
+            }
+        };
+    }
+
+    @Override
+    protected float getTopFadingEdgeStrength() {
+        return hasFadingEdges() ? TOP_AND_BOTTOM_FADING_EDGE_STRENGTH : 0;
+    }
+
+    @Override
+    protected float getBottomFadingEdgeStrength() {
+        return hasFadingEdges() ? TOP_AND_BOTTOM_FADING_EDGE_STRENGTH : 0;
+    }
+
+    /**
+     * @return Whether {@link View} draws the fading edges, otherwise they are
+     * drawn by the decoration cache or the items themselves, or the drum
+     * fades the items.
+     */
+    private boolean hasFadingEdges() {
+        return !mDecorationCaching && !isOpaqueMode() && !mCylinderProjection;
+    }
+
+    /**
+     * Sets whether the items are drawn on a drum, which shrinks and fades
+     * them as they turn away, rather than on a flat strip. The drum replaces
+     * the fading edges.
+     *
+     * @param cylinderProjection Whether to draw a drum.
+     */
+    public void setCylinderProjection(boolean cylinderProjection) {
+        if (mCylinderProjection == cylinderProjection) {
+            return;
+        }
+        mCylinderProjection = cylinderProjection;
+        if (cylinderProjection && mCylinderPaints == null) {
+            final int alpha = mSelectorWheelPaint.getAlpha();
+            mCylinderPaints = new Paint[CylinderProjection.ALPHA_BUCKETS];
+            for (int i = 1; i < CylinderProjection.ALPHA_BUCKETS; i++) {
+                Paint paint = new Paint(mSelectorWheelPaint);
+                paint.setAlpha(alpha * i / (CylinderProjection.ALPHA_BUCKETS - 1));
+                mCylinderPaints[i] = paint;
+            }
+        }
+        releaseDecorationCache();
+        invalidate();
+    }
+
+    /**
+     * @return Whether the items are drawn on a drum.
+     * @see #setCylinderProjection(boolean)
+     */
+    public boolean isCylinderProjection() {
+        return mCylinderProjection;
+    }
+
+    /**
+     * Makes this widget paint its whole area with <code>color</code> and
+     * declare itself opaque, so nothing below it has to be drawn. The items
+     * fade towards the edges by themselves instead of being covered by
+     * fading edges.
+     *
+     * @param color An opaque color, or {@link Color#TRANSPARENT} to draw
+     *              over the parent again, which restores the background set
+     *              before opaque mode.
+     * @throws IllegalArgumentException If <code>color</code> is translucent.
+     */
+    public void setOpaqueBackgroundColor(int color) {
+        if (color != Color.TRANSPARENT && Color.alpha(color) != 0xFF) {
+            throw new IllegalArgumentException("Not an opaque color: #"
+                    + Integer.toHexString(color));
+        }
+        if (mOpaqueBackgroundColor == color) {
+            return;
+        }
+        if (mOpaqueBackgroundColor == Color.TRANSPARENT) {
+            mBackgroundBeforeOpaque = getBackground();
+        }
+        mOpaqueBackgroundColor = color;
+        // An opaque color drawable also makes isOpaque() return true.
+        if (color == Color.TRANSPARENT) {
+            setBackground(mBackgroundBeforeOpaque);
+            mBackgroundBeforeOpaque = null;
+        } else {
+            setBackground(new ColorDrawable(color));
+        }
+        releaseDecorationCache();
+        invalidate();
+    }
+
+    /**
+     * @return Whether this widget is in opaque mode, see
+     * {@link #setOpaqueBackgroundColor(int)}.
+     */
+    public boolean isOpaqueMode() {
+        return mOpaqueBackgroundColor != Color.TRANSPARENT;
+    }
+
+    /**
+     * @return Whether the items are faded by {@link #mTextFadeShader} rather
+     * than drawing fading edges on top, which needs a layer per frame without
+     * a solid color and overdraws the opaque background with one.
+     */
+    private boolean isFadingItems() {
+        return !mCylinderProjection
+                && (isOpaqueMode() || (mDecorationCaching && mSolidColor == 0));
     }
 
     @Override
-    protected float getTopFadingEdgeStrength() {
-        return TOP_AND_BOTTOM_FADING_EDGE_STRENGTH;
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        releaseDecorationCache();
     }
 
     @Override
-    protected float getBottomFadingEdgeStrength() {
-        return TOP_AND_BOTTOM_FADING_EDGE_STRENGTH;
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        suspendWork();
+        releaseDecorationCache();
     }
 
     @Override
-    protected void onDetachedFromWindow() {
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        if (visibility != VISIBLE) {
+            suspendWork();
+        }
+    }
+
+    @Override
+    public void onVisibilityAggregated(boolean isVisible) {
+        super.onVisibilityAggregated(isVisible);
+        if (!isVisible) {
+            suspendWork();
+        }
+    }
+
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        // Covered by onVisibilityAggregated from N on.
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.N && !isShown()) {
+            suspendWork();
+        }
+    }
+
+    /**
+     * Stops all work of a picker which can no longer be seen. Running
+     * animations jump to the value they would have settled on and all
+     * posted commands are removed.
+     */
+    private void suspendWork() {
         removeAllCallbacks();
+        removeCallbacks(mComputeScrollCommand);
+        if (mSelectorElementHeight > 0 && (!mFlingScroller.isFinished()
+                || !mAdjustScroller.isFinished()
+                || mCurrentScrollOffset != mInitialScrollOffset)) {
+            if (!moveToFinalScrollerPosition(mFlingScroller)) {
+                moveToFinalScrollerPosition(mAdjustScroller);
+            }
+            updateInputTextView();
+        } else {
+            mFlingScroller.forceFinished(true);
+            mAdjustScroller.forceFinished(true);
+        }
+        mSilentScroll = false;
+        if (mVelocityTracker != null) {
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+        onScrollStateChange(OnScrollListener.SCROLL_STATE_IDLE);
     }
 
     @Override
@@ -1483,10 +2625,21 @@ public class NumberPicker extends LinearLayout {
             }
         }
 
+        if (mDecorationCaching && !mDecorationCacheValid) {
+            buildDecorationCache();
+        }
+        final boolean drawCache = mDecorationCaching && mDecorationCacheValid;
+        if (isFadingItems()) {
+            mSelectorWheelPaint.setShader(getTextFadeShader());
+        }
+        if (mCylinderProjection) {
+            mCylinder.setElementHeight(mSelectorElementHeight);
+        }
+
         // draw the selector wheel
-        int[] selectorIndices = mSelectorIndices;
+        long[] selectorIndices = mSelectorIndices;
         for (int i = 0; i < selectorIndices.length; i++) {
-            int selectorIndex = selectorIndices[i];
+            long selectorIndex = selectorIndices[i];
             String scrollSelectorValue = mSelectorIndexToStringCache.get(selectorIndex);
             // Do not draw the middle item if input is visible since the input
             // is shown only if the wheel is static and it covers the middle
@@ -1494,25 +2647,193 @@ public class NumberPicker extends LinearLayout {
             // IME he may see a dimmed version of the old value intermixed
             // with the new one.
             if (i != SELECTOR_MIDDLE_ITEM_INDEX || mInputText.getVisibility() != VISIBLE) {
-                canvas.drawText(scrollSelectorValue, x, y, mSelectorWheelPaint);
+                if (mCylinderProjection) {
+                    drawCylinderItem(canvas, scrollSelectorValue, x, (int) y);
+                } else {
+                    canvas.drawText(scrollSelectorValue, x, y, mSelectorWheelPaint);
+                }
             }
             y += mSelectorElementHeight;
         }
+        mSelectorWheelPaint.setShader(null);
+
+        if (drawCache) {
+            drawDecorationCache(canvas);
+        } else {
+            drawSelectionDividers(canvas);
+        }
+    }
+
+    /**
+     * Draws an item with its flat baseline at <code>y</code> onto the drum.
+     */
+    private void drawCylinderItem(Canvas canvas, String text, float x, int y) {
+        final int distance = y - (mInitialScrollOffset
+                + SELECTOR_MIDDLE_ITEM_INDEX * mSelectorElementHeight);
+        final int alphaBucket = mCylinder.getAlphaBucket(distance);
+        if (alphaBucket == 0) {
+            return;
+        }
+        final float baseline = y + mCylinder.getOffset(distance);
+        final int saveCount = canvas.save();
+        // Shrink around the middle of the digits.
+        canvas.scale(1, mCylinder.getScale(distance), x, baseline - mTextSize / 2f);
+        canvas.drawText(text, x, baseline, mCylinderPaints[alphaBucket]);
+        canvas.restoreToCount(saveCount);
+    }
+
+    private void drawSelectionDividers(Canvas canvas) {
+        if (mSelectionDivider == null) {
+            return;
+        }
+        // draw the top divider
+        int topOfTopDivider = mTopSelectionDividerTop;
+        int bottomOfTopDivider = topOfTopDivider + mSelectionDividerHeight;
+        mSelectionDivider.setBounds(0, topOfTopDivider, getRight(), bottomOfTopDivider);
+        mSelectionDivider.draw(canvas);
+
+        // draw the bottom divider
+        int bottomOfBottomDivider = mBottomSelectionDividerBottom;
+        int topOfBottomDivider = bottomOfBottomDivider - mSelectionDividerHeight;
+        mSelectionDivider.setBounds(0, topOfBottomDivider, getRight(), bottomOfBottomDivider);
+        mSelectionDivider.draw(canvas);
+    }
+
+    /**
+     * Caches the decorations while the wheel scrolls, when only the items
+     * move, or draws them again from scratch when it stops.
+     */
+    private void setDecorationCaching(boolean caching) {
+        caching &= mHasSelectorWheel;
+        if (mDecorationCaching == caching) {
+            return;
+        }
+        mDecorationCaching = caching;
+        invalidate();
+    }
+
+    /**
+     * @return The length of the fading edges as drawn by {@link View}.
+     */
+    private int getFadingEdgeExtent() {
+        final int height = getHeight() - getPaddingTop() - getPaddingBottom();
+        final int length = Math.min(getVerticalFadingEdgeLength(), height / 2);
+        return (int) (length * TOP_AND_BOTTOM_FADING_EDGE_STRENGTH);
+    }
 
-        // draw the selection dividers
+    /**
+     * Renders the dividers, and the fading edges over a solid color, into
+     * {@link #mDecorationCache}. Otherwise the items are faded by
+     * {@link #mTextFadeShader} instead.
+     */
+    private void buildDecorationCache() {
+        releaseDecorationCache();
+        final int width = getWidth();
+        final int height = getHeight();
+        if (width == 0 || height == 0) {
+            return;
+        }
+        final int fadeTop = getPaddingTop();
+        final int fadeBottom = height - getPaddingBottom();
+        final int fadeExtent = getFadingEdgeExtent();
+        final boolean solidFade = !mCylinderProjection && !isFadingItems() && fadeExtent > 0;
+        int topBand = 0;
+        int bottomBand = height;
         if (mSelectionDivider != null) {
-            // draw the top divider
-            int topOfTopDivider = mTopSelectionDividerTop;
-            int bottomOfTopDivider = topOfTopDivider + mSelectionDividerHeight;
-            mSelectionDivider.setBounds(0, topOfTopDivider, getRight(), bottomOfTopDivider);
-            mSelectionDivider.draw(canvas);
+            topBand = mTopSelectionDividerTop + mSelectionDividerHeight;
+            bottomBand = mBottomSelectionDividerBottom - mSelectionDividerHeight;
+        }
+        if (solidFade) {
+            topBand = Math.max(topBand, fadeTop + fadeExtent);
+            bottomBand = Math.min(bottomBand, fadeBottom - fadeExtent);
+        }
+        bottomBand = Math.max(bottomBand, topBand);
+        final int cacheHeight = topBand + height - bottomBand;
+        if (cacheHeight > 0) {
+            mDecorationCache = Bitmap.createBitmap(width, cacheHeight, Bitmap.Config.ARGB_8888);
+            mDecorationCacheTopBand = topBand;
+            Canvas canvas = new Canvas(mDecorationCache);
+            canvas.save();
+            canvas.clipRect(0, 0, width, topBand);
+            drawDecorations(canvas, solidFade ? fadeExtent : 0);
+            canvas.restore();
+            canvas.translate(0, topBand - bottomBand);
+            canvas.clipRect(0, bottomBand, width, height);
+            drawDecorations(canvas, solidFade ? fadeExtent : 0);
+        }
+        mDecorationCacheValid = true;
+    }
 
-            // draw the bottom divider
-            int bottomOfBottomDivider = mBottomSelectionDividerBottom;
-            int topOfBottomDivider = bottomOfBottomDivider - mSelectionDividerHeight;
-            mSelectionDivider.setBounds(0, topOfBottomDivider, getRight(), bottomOfBottomDivider);
-            mSelectionDivider.draw(canvas);
+    /**
+     * @return The shader fading the items the way the fading edges of
+     * {@link View} do, or null if there are no fading edges.
+     */
+    private Shader getTextFadeShader() {
+        final int fadeExtent = getFadingEdgeExtent();
+        if (mTextFadeShader == null && fadeExtent > 0) {
+            final int fadeTop = getPaddingTop();
+            final int fadeBottom = getHeight() - getPaddingBottom();
+            final int color = mSelectorWheelPaint.getColor();
+            final float fade = (float) fadeExtent / (fadeBottom - fadeTop);
+            // The alpha of the paint still applies on top of the shader.
+            mTextFadeShader = new LinearGradient(0, fadeTop, 0, fadeBottom,
+                    new int[]{color & 0x00FFFFFF, color | 0xFF000000,
+                            color | 0xFF000000, color & 0x00FFFFFF},
+                    new float[]{0, fade, 1 - fade, 1}, Shader.TileMode.CLAMP);
+        }
+        return mTextFadeShader;
+    }
+
+    /**
+     * Draws the dividers and, if <code>fadeExtent</code> is not 0, the fading
+     * edges in {@link #mSolidColor} the way {@link View} draws them.
+     */
+    private void drawDecorations(Canvas canvas, int fadeExtent) {
+        drawSelectionDividers(canvas);
+        if (fadeExtent == 0) {
+            return;
+        }
+        final int left = getPaddingLeft();
+        final int right = getWidth() - getPaddingRight();
+        final int top = getPaddingTop();
+        final int bottom = getHeight() - getPaddingBottom();
+        final int opaque = mSolidColor | 0xFF000000;
+        final int clear = mSolidColor & 0x00FFFFFF;
+        Paint paint = new Paint();
+        paint.setShader(new LinearGradient(0, top, 0, top + fadeExtent, opaque, clear,
+                Shader.TileMode.CLAMP));
+        canvas.drawRect(left, top, right, top + fadeExtent, paint);
+        paint.setShader(new LinearGradient(0, bottom, 0, bottom - fadeExtent, opaque, clear,
+                Shader.TileMode.CLAMP));
+        canvas.drawRect(left, bottom - fadeExtent, right, bottom, paint);
+    }
+
+    private void drawDecorationCache(Canvas canvas) {
+        final Bitmap cache = mDecorationCache;
+        if (cache == null) {
+            return;
+        }
+        final int width = cache.getWidth();
+        final int topBand = mDecorationCacheTopBand;
+        final int bottomBand = cache.getHeight() - topBand;
+        if (topBand > 0) {
+            mDecorationCacheSrc.set(0, 0, width, topBand);
+            canvas.drawBitmap(cache, mDecorationCacheSrc, mDecorationCacheSrc, null);
+        }
+        if (bottomBand > 0) {
+            mDecorationCacheSrc.set(0, topBand, width, cache.getHeight());
+            mDecorationCacheDst.set(0, getHeight() - bottomBand, width, getHeight());
+            canvas.drawBitmap(cache, mDecorationCacheSrc, mDecorationCacheDst, null);
+        }
+    }
+
+    private void releaseDecorationCache() {
+        if (mDecorationCache != null) {
+            mDecorationCache.recycle();
+            mDecorationCache = null;
         }
+        mTextFadeShader = null;
+        mDecorationCacheValid = false;
     }
 
     @Override
@@ -1520,8 +2841,21 @@ public class NumberPicker extends LinearLayout {
         super.onInitializeAccessibilityEvent(event);
         event.setClassName(NumberPicker.class.getName());
         event.setScrollable(true);
-        event.setScrollY((mMinValue + mValue) * mSelectorElementHeight);
-        event.setMaxScrollY((mMaxValue - mMinValue) * mSelectorElementHeight);
+        event.setScrollY(getAccessibilityScrollY(mValue - mMinValue));
+        event.setMaxScrollY(getAccessibilityScrollY(mMaxValue - mMinValue));
+    }
+
+    /**
+     * @param items The unsigned number of items from the min value.
+     * @return The scroll position of the item that many items down the
+     * wheel, clamped to the int range for wide ranges, e.g. epoch seconds.
+     */
+    private int getAccessibilityScrollY(long items) {
+        if (items < 0 || (mSelectorElementHeight > 0
+                && items > Integer.MAX_VALUE / mSelectorElementHeight)) {
+            return Integer.MAX_VALUE;
+        }
+        return (int) (items * mSelectorElementHeight);
     }
 
     @Override
@@ -1529,10 +2863,7 @@ public class NumberPicker extends LinearLayout {
         if (!mHasSelectorWheel) {
             return super.getAccessibilityNodeProvider();
         }
-        if (mAccessibilityNodeProvider == null) {
-            mAccessibilityNodeProvider = new SupportAccessibilityNodeProvider();
-        }
-        return mAccessibilityNodeProvider.mProvider;
+        return getSupportAccessibilityNodeProvider().mProvider;
     }
 
     /**
@@ -1621,16 +2952,35 @@ public class NumberPicker extends LinearLayout {
      */
     private void initializeSelectorWheelIndices() {
         mSelectorIndexToStringCache.clear();
-        int[] selectorIndices = mSelectorIndices;
-        int current = getValue();
-        for (int i = 0; i < mSelectorIndices.length; i++) {
-            int selectorIndex = current + (i - SELECTOR_MIDDLE_ITEM_INDEX);
-            if (mWrapSelectorWheel) {
-                selectorIndex = getWrappedSelectorIndex(selectorIndex);
-            }
-            selectorIndices[i] = selectorIndex;
-            ensureCachedScrollSelectorValue(selectorIndices[i]);
+        long[] selectorIndices = mSelectorIndices;
+        selectorIndices[SELECTOR_MIDDLE_ITEM_INDEX] = mValue;
+        for (int i = SELECTOR_MIDDLE_ITEM_INDEX + 1; i < selectorIndices.length; i++) {
+            selectorIndices[i] = getNextSelectorIndex(selectorIndices[i - 1]);
+        }
+        for (int i = SELECTOR_MIDDLE_ITEM_INDEX - 1; i >= 0; i--) {
+            selectorIndices[i] = getPreviousSelectorIndex(selectorIndices[i + 1]);
+        }
+        for (long selectorIndex : selectorIndices) {
+            ensureCachedScrollSelectorValue(selectorIndex);
+        }
+    }
+
+    /**
+     * @return <code>value</code> wrapped or clamped to the range and snapped
+     * to the value domain, as it would be set.
+     */
+    private long getAllowedValue(long value) {
+        // Wrap around the values if we go past the start or end
+        if (mWrapSelectorWheel) {
+            value = getRange().wrap(value);
+        } else {
+            value = Math.max(value, mMinValue);
+            value = Math.min(value, mMaxValue);
         }
+        if (mValueDomain != null) {
+            value = mValueDomain.nearest((int) value);
+        }
+        return value;
     }
 
     /**
@@ -1639,25 +2989,24 @@ public class NumberPicker extends LinearLayout {
      * @param current      The new value of the NumberPicker.
      * @param notifyChange Whether to notify if the current value changed.
      */
-    private void setValueInternal(int current, boolean notifyChange) {
+    private void setValueInternal(long current, boolean notifyChange) {
         if (mValue == current) {
             return;
         }
-        // Wrap around the values if we go past the start or end
-        if (mWrapSelectorWheel) {
-            current = getWrappedSelectorIndex(current);
-        } else {
-            current = Math.max(current, mMinValue);
-            current = Math.min(current, mMaxValue);
+        current = getAllowedValue(current);
+        if (mValue == current) {
+            // The value may have been typed, show the one it snapped to.
+            updateInputTextView();
+            return;
         }
-        int previous = mValue;
+        long previous = mValue;
         mValue = current;
         updateInputTextView();
         if (notifyChange) {
             notifyChange(previous, current);
         }
         initializeSelectorWheelIndices();
-        invalidate();
+        invalidateRegions(REGION_WHEEL);
     }
 
     /**
@@ -1669,29 +3018,32 @@ public class NumberPicker extends LinearLayout {
      */
     private void changeValueByOne(boolean increment) {
         if (mHasSelectorWheel) {
-            //   mInputText.setVisibility(View.INVISIBLE);
+            if (mBehavior.isWheelOnly()) {
+                mInputText.setVisibility(View.INVISIBLE);
+            }
             if (!moveToFinalScrollerPosition(mFlingScroller)) {
                 moveToFinalScrollerPosition(mAdjustScroller);
             }
+            mSilentScroll = false;
             mPreviousScrollerY = 0;
             if (increment) {
                 mFlingScroller.startScroll(0, 0, 0, -mSelectorElementHeight, SNAP_SCROLL_DURATION);
             } else {
                 mFlingScroller.startScroll(0, 0, 0, mSelectorElementHeight, SNAP_SCROLL_DURATION);
             }
-            invalidate();
+            invalidateRegions(REGION_WHEEL);
         } else {
             if (increment) {
-                setValueInternal(mValue + 1, true);
+                setValueInternal(getNextSelectorIndex(mValue), true);
             } else {
-                setValueInternal(mValue - 1, true);
+                setValueInternal(getPreviousSelectorIndex(mValue), true);
             }
         }
     }
 
     private void initializeSelectorWheel() {
         initializeSelectorWheelIndices();
-        int[] selectorIndices = mSelectorIndices;
+        long[] selectorIndices = mSelectorIndices;
         int totalTextHeight = selectorIndices.length * mTextSize;
         float totalTextGapHeight = (getBottom() - getTop()) - totalTextHeight;
         float textGapCount = selectorIndices.length;
@@ -1703,6 +3055,12 @@ public class NumberPicker extends LinearLayout {
         mInitialScrollOffset = editTextTextPosition
                 - (mSelectorElementHeight * SELECTOR_MIDDLE_ITEM_INDEX);
         mCurrentScrollOffset = mInitialScrollOffset;
+        // The baselines stay within a text gap of where they rest, see
+        // scrollBy(), and the glyphs within an element height of those.
+        mWheelBandTop = Math.max(0, mInitialScrollOffset - mSelectorTextGapHeight
+                - mSelectorElementHeight);
+        mWheelBandBottom = Math.min(getBottom() - getTop(), mInitialScrollOffset
+                + mSelectorTextGapHeight + selectorIndices.length * mSelectorElementHeight);
         updateInputTextView();
     }
 
@@ -1716,6 +3074,8 @@ public class NumberPicker extends LinearLayout {
      */
     private void onScrollerFinished(Scroller scroller) {
         if (scroller == mFlingScroller) {
+            mKeyScrolling = false;
+            mSilentScroll = false;
             if (!ensureScrollWheelAdjusted()) {
                 updateInputTextView();
             }
@@ -1726,7 +3086,7 @@ public class NumberPicker extends LinearLayout {
             }
         }
 
-        if(getDeviceName().toLowerCase().contains("samsung")) {
+        if (!mBehavior.isWheelOnly() && getDeviceName().toLowerCase().contains("samsung")) {
             // Obtain MotionEvent object
             long downTime = SystemClock.uptimeMillis();
             long eventTime = SystemClock.uptimeMillis() + 200;
@@ -1757,6 +3117,7 @@ public class NumberPicker extends LinearLayout {
             return;
         }
         mScrollState = scrollState;
+        setDecorationCaching(scrollState != OnScrollListener.SCROLL_STATE_IDLE);
         if (mOnScrollListener != null) {
             mOnScrollListener.onScrollStateChange(this, scrollState);
         }
@@ -1774,33 +3135,103 @@ public class NumberPicker extends LinearLayout {
             mFlingScroller.fling(0, Integer.MAX_VALUE, 0, velocityY, 0, 0, 0, Integer.MAX_VALUE);
         }
 
-        invalidate();
+        invalidateRegions(REGION_WHEEL);
+    }
+
+    /**
+     * @return The range from {@link #mMinValue} to {@link #mMaxValue}.
+     */
+    private LongRange getRange() {
+        if (mRange == null || mRange.getMinValue() != mMinValue
+                || mRange.getMaxValue() != mMaxValue) {
+            // The min value may pass the max value between two setters.
+            mRange = LongRange.of(mMinValue, Math.max(mMinValue, mMaxValue));
+        }
+        return mRange;
+    }
+
+    /**
+     * @return Whether there are more values than items on the wheel, so the
+     * wheel can wrap.
+     */
+    private boolean isWrappingAllowed() {
+        if (mValueDomain != null) {
+            return mValueDomain.size() > mSelectorIndices.length;
+        }
+        // max - min + 1 > length, compared unsigned as it may not fit a long.
+        return mMaxValue >= mMinValue && LongRange.compareUnsigned(mMaxValue - mMinValue,
+                mSelectorIndices.length) >= 0;
+    }
+
+    /**
+     * @return The selector index of the items past the ends of a non
+     * wrapping wheel, which is out of the range so they are drawn empty.
+     * A wrapping wheel has no such items, and for a range of all long
+     * values there is no index out of the range.
+     */
+    private long getEmptySelectorIndex() {
+        return (mMaxValue < Long.MAX_VALUE) ? mMaxValue + 1 : mMinValue - 1;
+    }
+
+    /**
+     * @return The value following <code>selectorIndex</code> on the wheel,
+     * or {@link #getEmptySelectorIndex()} if there is none.
+     */
+    private long getNextSelectorIndex(long selectorIndex) {
+        if (selectorIndex >= mMaxValue
+                || (!mWrapSelectorWheel && selectorIndex == getEmptySelectorIndex())) {
+            return mWrapSelectorWheel ? mMinValue : getEmptySelectorIndex();
+        }
+        return (mValueDomain != null) ? mValueDomain.next((int) selectorIndex) : selectorIndex + 1;
+    }
+
+    /**
+     * @return The value preceding <code>selectorIndex</code> on the wheel,
+     * or {@link #getEmptySelectorIndex()} if there is none.
+     */
+    private long getPreviousSelectorIndex(long selectorIndex) {
+        if (selectorIndex <= mMinValue
+                || (!mWrapSelectorWheel && selectorIndex == getEmptySelectorIndex())) {
+            return mWrapSelectorWheel ? mMaxValue : getEmptySelectorIndex();
+        }
+        return (mValueDomain != null)
+                ? mValueDomain.previous((int) selectorIndex) : selectorIndex - 1;
+    }
+
+    /**
+     * @return The index in the displayed values of the allowed <code>value</code>.
+     */
+    private int getDisplayedValueIndex(long value) {
+        return (int) ((mValueDomain != null)
+                ? mValueDomain.indexOf((int) value) : value - mMinValue);
+    }
+
+    /**
+     * @return The allowed value at <code>index</code> in the displayed values.
+     */
+    private long getValueAtDisplayedIndex(int index) {
+        return (mValueDomain != null) ? mValueDomain.valueAt(index) : mMinValue + index;
     }
 
     /**
-     * @return The wrapped index <code>selectorIndex</code> value.
+     * @return True if <code>value</code> is one the picker can select.
      */
-    private int getWrappedSelectorIndex(int selectorIndex) {
-        if (selectorIndex > mMaxValue) {
-            return mMinValue + (selectorIndex - mMaxValue) % (mMaxValue - mMinValue) - 1;
-        } else if (selectorIndex < mMinValue) {
-            return mMaxValue - (mMinValue - selectorIndex) % (mMaxValue - mMinValue) + 1;
+    private boolean isAllowedValue(long value) {
+        if (value < mMinValue || value > mMaxValue) {
+            return false;
         }
-        return selectorIndex;
+        return mValueDomain == null || mValueDomain.contains((int) value);
     }
 
     /**
      * Increments the <code>selectorIndices</code> whose string representations
      * will be displayed in the selector.
      */
-    private void incrementSelectorIndices(int[] selectorIndices) {
+    private void incrementSelectorIndices(long[] selectorIndices) {
         for (int i = 0; i < selectorIndices.length - 1; i++) {
             selectorIndices[i] = selectorIndices[i + 1];
         }
-        int nextScrollSelectorIndex = selectorIndices[selectorIndices.length - 2] + 1;
-        if (mWrapSelectorWheel && nextScrollSelectorIndex > mMaxValue) {
-            nextScrollSelectorIndex = mMinValue;
-        }
+        long nextScrollSelectorIndex = getNextSelectorIndex(selectorIndices[selectorIndices.length - 2]);
         selectorIndices[selectorIndices.length - 1] = nextScrollSelectorIndex;
         ensureCachedScrollSelectorValue(nextScrollSelectorIndex);
     }
@@ -1809,14 +3240,11 @@ public class NumberPicker extends LinearLayout {
      * Decrements the <code>selectorIndices</code> whose string representations
      * will be displayed in the selector.
      */
-    private void decrementSelectorIndices(int[] selectorIndices) {
+    private void decrementSelectorIndices(long[] selectorIndices) {
         for (int i = selectorIndices.length - 1; i > 0; i--) {
             selectorIndices[i] = selectorIndices[i - 1];
         }
-        int nextScrollSelectorIndex = selectorIndices[1] - 1;
-        if (mWrapSelectorWheel && nextScrollSelectorIndex < mMinValue) {
-            nextScrollSelectorIndex = mMaxValue;
-        }
+        long nextScrollSelectorIndex = getPreviousSelectorIndex(selectorIndices[1]);
         selectorIndices[0] = nextScrollSelectorIndex;
         ensureCachedScrollSelectorValue(nextScrollSelectorIndex);
     }
@@ -1825,27 +3253,43 @@ public class NumberPicker extends LinearLayout {
      * Ensures we have a cached string representation of the given <code>
      * selectorIndex</code> to avoid multiple instantiations of the same string.
      */
-    private void ensureCachedScrollSelectorValue(int selectorIndex) {
-        SparseArray<String> cache = mSelectorIndexToStringCache;
+    private void ensureCachedScrollSelectorValue(long selectorIndex) {
+        LongSparseArray<String> cache = mSelectorIndexToStringCache;
         String scrollSelectorValue = cache.get(selectorIndex);
         if (scrollSelectorValue != null) {
             return;
         }
-        if (selectorIndex < mMinValue || selectorIndex > mMaxValue) {
+        if (!isAllowedValue(selectorIndex)) {
             scrollSelectorValue = "";
         } else {
             if (mDisplayedValues != null) {
-                int displayedValueIndex = selectorIndex - mMinValue;
+                int displayedValueIndex = getDisplayedValueIndex(selectorIndex);
                 scrollSelectorValue = mDisplayedValues[displayedValueIndex];
             } else {
                 scrollSelectorValue = formatNumber(selectorIndex);
             }
         }
         cache.put(selectorIndex, scrollSelectorValue);
+        final int width = (int) Math.ceil(mSelectorWheelPaint.measureText(scrollSelectorValue));
+        if (width > mWidestItemWidth) {
+            mWidestItemWidth = width;
+        }
+    }
+
+    /**
+     * @return The cached string representation of <code>selectorIndex</code>.
+     */
+    private String getCachedScrollSelectorValue(long selectorIndex) {
+        ensureCachedScrollSelectorValue(selectorIndex);
+        return mSelectorIndexToStringCache.get(selectorIndex);
     }
 
-    private String formatNumber(int value) {
-        return (mFormatter != null) ? mFormatter.format(value) : formatNumberWithLocale(value);
+    private String formatNumber(long value) {
+        if (mLongFormatter != null) {
+            return mLongFormatter.format(value);
+        }
+        return (mFormatter != null) ? mFormatter.format((int) value)
+                : mBehavior.formatText(formatNumberWithLocale(value));
     }
 
     private void validateInputTextView(View v) {
@@ -1855,7 +3299,7 @@ public class NumberPicker extends LinearLayout {
             updateInputTextView();
         } else {
             // Check the new value and ensure it's in range
-            int current = getSelectedPos(str.toString());
+            long current = getSelectedPos(str.toString());
             setValueInternal(current, true);
         }
     }
@@ -1875,7 +3319,7 @@ public class NumberPicker extends LinearLayout {
          * number.
          */
         String text = (mDisplayedValues == null) ? formatNumber(mValue)
-                : mDisplayedValues[mValue - mMinValue];
+                : mDisplayedValues[getDisplayedValueIndex(mValue)];
         if (!TextUtils.isEmpty(text) && !text.equals(mInputText.getText().toString())) {
             mInputText.setText(text);
             return true;
@@ -1888,9 +3332,12 @@ public class NumberPicker extends LinearLayout {
      * Notifies the listener, if registered, of a change of the value of this
      * NumberPicker.
      */
-    private void notifyChange(int previous, int current) {
+    private void notifyChange(long previous, long current) {
         if (mOnValueChangeListener != null) {
-            mOnValueChangeListener.onValueChange(this, previous, mValue);
+            mOnValueChangeListener.onValueChange(this, (int) previous, (int) mValue);
+        }
+        if (mOnLongValueChangeListener != null) {
+            mOnLongValueChangeListener.onValueChange(this, previous, mValue);
         }
     }
 
@@ -1905,6 +3352,7 @@ public class NumberPicker extends LinearLayout {
         } else {
             removeCallbacks(mChangeCurrentByOneFromLongPressCommand);
         }
+        mChangeCurrentByOneFromLongPressCommand.stop();
         mChangeCurrentByOneFromLongPressCommand.setStep(increment);
         postDelayed(mChangeCurrentByOneFromLongPressCommand, delayMillis);
     }
@@ -1915,6 +3363,7 @@ public class NumberPicker extends LinearLayout {
     private void removeChangeCurrentByOneFromLongPress() {
         if (mChangeCurrentByOneFromLongPressCommand != null) {
             removeCallbacks(mChangeCurrentByOneFromLongPressCommand);
+            mChangeCurrentByOneFromLongPressCommand.stop();
         }
     }
 
@@ -1946,6 +3395,7 @@ public class NumberPicker extends LinearLayout {
     private void removeAllCallbacks() {
         if (mChangeCurrentByOneFromLongPressCommand != null) {
             removeCallbacks(mChangeCurrentByOneFromLongPressCommand);
+            mChangeCurrentByOneFromLongPressCommand.stop();
         }
         if (mSetSelectionCommand != null) {
             removeCallbacks(mSetSelectionCommand);
@@ -1953,16 +3403,19 @@ public class NumberPicker extends LinearLayout {
         if (mBeginSoftInputOnLongPressCommand != null) {
             removeCallbacks(mBeginSoftInputOnLongPressCommand);
         }
+        if (mGenericScrollCommand != null) {
+            mGenericScrollCommand.cancel();
+        }
         mPressedStateHelper.cancel();
     }
 
     /**
      * @return The selected index given its displayed <code>value</code>.
      */
-    private int getSelectedPos(String value) {
+    private long getSelectedPos(String value) {
         if (mDisplayedValues == null) {
             try {
-                return Integer.parseInt(value);
+                return Long.parseLong(value);
             } catch (NumberFormatException e) {
                 // Ignore as if it's not a number we don't care
             }
@@ -1971,7 +3424,7 @@ public class NumberPicker extends LinearLayout {
                 // Don't force the user to type in jan when ja will do
                 value = value.toLowerCase();
                 if (mDisplayedValues[i].toLowerCase().startsWith(value)) {
-                    return mMinValue + i;
+                    return getValueAtDisplayedIndex(i);
                 }
             }
 
@@ -1980,7 +3433,7 @@ public class NumberPicker extends LinearLayout {
              * 10 instead of OCT so support that too.
              */
             try {
-                return Integer.parseInt(value);
+                return Long.parseLong(value);
             } catch (NumberFormatException e) {
 
                 // Ignore as if it's not a number we don't care
@@ -2050,7 +3503,7 @@ public class NumberPicker extends LinearLayout {
                 if ("".equals(result)) {
                     return result;
                 }
-                int val = getSelectedPos(result);
+                long val = getSelectedPos(result);
 
                 /*
                  * Ensure the user can't type in a value greater than the max
@@ -2059,6 +3512,10 @@ public class NumberPicker extends LinearLayout {
                  */
                 if (val > mMaxValue) {
                     return "";
+                } else if (mValueDomain != null && !isAllowedValue(val)
+                        && val * 10 > mMaxValue) {
+                    // No further digit can turn this into an allowed value.
+                    return "";
                 } else {
                     return filtered;
                 }
@@ -2097,7 +3554,7 @@ public class NumberPicker extends LinearLayout {
                 deltaY += (deltaY > 0) ? -mSelectorElementHeight : mSelectorElementHeight;
             }
             mAdjustScroller.startScroll(0, 0, 0, deltaY, SELECTOR_ADJUSTMENT_DURATION_MILLIS);
-            invalidate();
+            invalidateRegions(REGION_WHEEL);
             return true;
         }
         return false;
@@ -2119,11 +3576,11 @@ public class NumberPicker extends LinearLayout {
             NumberPicker.this.removeCallbacks(this);
             if (mIncrementVirtualButtonPressed) {
                 mIncrementVirtualButtonPressed = false;
-                invalidate(0, mBottomSelectionDividerBottom, getRight(), getBottom());
+                invalidateRegions(REGION_INCREMENT_BUTTON);
             }
-            mDecrementVirtualButtonPressed = false;
             if (mDecrementVirtualButtonPressed) {
-                invalidate(0, 0, getRight(), mTopSelectionDividerTop);
+                mDecrementVirtualButtonPressed = false;
+                invalidateRegions(REGION_DECREMENT_BUTTON);
             }
         }
 
@@ -2148,12 +3605,12 @@ public class NumberPicker extends LinearLayout {
                     switch (mManagedButton) {
                         case BUTTON_INCREMENT: {
                             mIncrementVirtualButtonPressed = true;
-                            invalidate(0, mBottomSelectionDividerBottom, getRight(), getBottom());
+                            invalidateRegions(REGION_INCREMENT_BUTTON);
                         }
                         break;
                         case BUTTON_DECREMENT: {
                             mDecrementVirtualButtonPressed = true;
-                            invalidate(0, 0, getRight(), mTopSelectionDividerTop);
+                            invalidateRegions(REGION_DECREMENT_BUTTON);
                         }
                     }
                 }
@@ -2166,7 +3623,7 @@ public class NumberPicker extends LinearLayout {
                                         ViewConfiguration.getPressedStateDuration());
                             }
                             mIncrementVirtualButtonPressed ^= true;
-                            invalidate(0, mBottomSelectionDividerBottom, getRight(), getBottom());
+                            invalidateRegions(REGION_INCREMENT_BUTTON);
                         }
                         break;
                         case BUTTON_DECREMENT: {
@@ -2175,7 +3632,7 @@ public class NumberPicker extends LinearLayout {
                                         ViewConfiguration.getPressedStateDuration());
                             }
                             mDecrementVirtualButtonPressed ^= true;
-                            invalidate(0, 0, getRight(), mTopSelectionDividerTop);
+                            invalidateRegions(REGION_DECREMENT_BUTTON);
                         }
                     }
                 }
@@ -2203,14 +3660,197 @@ public class NumberPicker extends LinearLayout {
     class ChangeCurrentByOneFromLongPressCommand implements Runnable {
         private boolean mIncrement;
 
+        /**
+         * The time of the first step, or -1 if the command has not run yet.
+         */
+        private long mStartTime = -1;
+
+        private long mLastFrameTime;
+
+        /**
+         * The scroll distance due but not yet applied, in pixels.
+         */
+        private float mPendingScroll;
+
         private void setStep(boolean increment) {
             mIncrement = increment;
         }
 
+        /**
+         * Ends the current repeat, settling the wheel on the closest value.
+         */
+        private void stop() {
+            final boolean scrolling = mStartTime >= 0 && mLongPressRampCurve != null
+                    && mHasSelectorWheel;
+            mStartTime = -1;
+            mPendingScroll = 0;
+            // A snap still running, e.g. the first step, ends on a value.
+            if (scrolling && mFlingScroller.isFinished() && mAdjustScroller.isFinished()) {
+                ensureScrollWheelAdjusted();
+            }
+        }
+
+        @Override
+        public void run() {
+            mLongPressRepeatStarted = true;
+            if (mLongPressRampCurve == null) {
+                changeValueByOne(mIncrement);
+                postDelayed(this, mLongPressUpdateInterval);
+                return;
+            }
+            final long now = AnimationUtils.currentAnimationTimeMillis();
+            if (mStartTime < 0) {
+                mStartTime = now;
+                mLastFrameTime = now;
+                changeValueByOne(mIncrement);
+                if (mHasSelectorWheel) {
+                    // Let the first step snap, then scroll continuously.
+                    postOnAnimationDelayed(this, SNAP_SCROLL_DURATION);
+                } else {
+                    postDelayed(this, (long) (1000 / getRate(now)));
+                }
+                return;
+            }
+            if (!mHasSelectorWheel) {
+                changeValueByOne(mIncrement);
+                postDelayed(this, (long) (1000 / getRate(now)));
+                return;
+            }
+            if (!mFlingScroller.isFinished() || !mAdjustScroller.isFinished()) {
+                if (!moveToFinalScrollerPosition(mFlingScroller)) {
+                    moveToFinalScrollerPosition(mAdjustScroller);
+                }
+            }
+            final long frameTime = Math.min(now - mLastFrameTime, MAX_LONG_PRESS_FRAME_TIME);
+            mLastFrameTime = now;
+            mPendingScroll += getRate(now) * frameTime * mSelectorElementHeight / 1000f;
+            final int scroll = (int) mPendingScroll;
+            mPendingScroll -= scroll;
+            if (scroll != 0) {
+                // One continuous scroll, advancing as many values as are due.
+                scrollWheelBy(mIncrement ? -scroll : scroll);
+            }
+            postOnAnimation(this);
+        }
+
+        /**
+         * @return The number of values per second at time <code>now</code>.
+         */
+        private float getRate(long now) {
+            final float minRate = 1000f / Math.max(mLongPressUpdateInterval, 1);
+            final float maxRate = Math.max(mLongPressMaxRate, minRate);
+            final float ramp = (mLongPressRampDuration <= 0) ? 1f
+                    : Math.min(1f, (now - mStartTime) / (float) mLongPressRampDuration);
+            return minRate + (maxRate - minRate) * mLongPressRampCurve.getInterpolation(ramp);
+        }
+    }
+
+    /**
+     * Command coalescing generic motion scroll events, which may arrive many
+     * times per frame, into one scroll per frame. Once the events stop the
+     * wheel settles on the closest value.
+     */
+    class GenericScrollCommand implements Runnable {
+        private final Runnable mSettleCommand = new Runnable() {
+            @Override
+            public void run() {
+                ensureScrollWheelAdjusted();
+                onScrollStateChange(OnScrollListener.SCROLL_STATE_IDLE);
+            }
+        };
+
+        /**
+         * The scroll distance due but not yet applied, in pixels.
+         */
+        private float mPendingScroll;
+
+        private boolean mPosted;
+
+        private void add(float scroll) {
+            mPendingScroll += scroll;
+            if (!mPosted) {
+                mPosted = true;
+                postOnAnimation(this);
+            }
+            removeCallbacks(mSettleCommand);
+            postDelayed(mSettleCommand, GENERIC_SCROLL_SETTLE_DELAY);
+        }
+
+        private void cancel() {
+            mPendingScroll = 0;
+            mPosted = false;
+            removeCallbacks(this);
+            removeCallbacks(mSettleCommand);
+        }
+
         @Override
         public void run() {
-            changeValueByOne(mIncrement);
-            postDelayed(this, mLongPressUpdateInterval);
+            mPosted = false;
+            final int scroll = (int) mPendingScroll;
+            mPendingScroll -= scroll;
+            if (scroll == 0) {
+                return;
+            }
+            if (!mFlingScroller.isFinished() || !mAdjustScroller.isFinished()) {
+                mFlingScroller.forceFinished(true);
+                mAdjustScroller.forceFinished(true);
+            }
+            mSilentScroll = false;
+            onScrollStateChange(OnScrollListener.SCROLL_STATE_TOUCH_SCROLL);
+            scrollWheelBy(scroll);
+        }
+    }
+
+    /**
+     * The parts of the behavior which differ between picker variants, e.g.
+     * {@link NumberPickerAMPM}. All variants share the rest of the picker.
+     */
+    static class Behavior {
+
+        /**
+         * The behavior of a plain {@link NumberPicker}.
+         */
+        static final Behavior DEFAULT = new Behavior();
+
+        /**
+         * @param layoutResId The layout from the style attributes.
+         * @return The layout to inflate.
+         */
+        int getLayoutResId(int layoutResId) {
+            return layoutResId;
+        }
+
+        /**
+         * @return True if the values are drawn in bold.
+         */
+        boolean isTextBold() {
+            return true;
+        }
+
+        /**
+         * @return True if the value is only picked on the wheel, the input text
+         * is hidden once the wheel is used and never shown for editing.
+         */
+        boolean isWheelOnly() {
+            return false;
+        }
+
+        /**
+         * @return True if the input text is handled like in the platform
+         * picker: it is enabled with the picker, filtered and validated when
+         * it loses focus and typed into with a keyboard matching the values,
+         * and the virtual views of the picker perform accessibility actions.
+         */
+        boolean hasPlatformInput() {
+            return false;
+        }
+
+        /**
+         * @param text A value formatted without a formatter.
+         * @return The text to show for the value.
+         */
+        String formatText(String text) {
+            return text;
         }
     }
 
@@ -2245,7 +3885,10 @@ public class NumberPicker extends LinearLayout {
     }
 
     private SupportAccessibilityNodeProvider getSupportAccessibilityNodeProvider() {
-        return new SupportAccessibilityNodeProvider();
+        if (mAccessibilityNodeProvider == null) {
+            mAccessibilityNodeProvider = new SupportAccessibilityNodeProvider();
+        }
+        return mAccessibilityNodeProvider;
     }
 
     class SupportAccessibilityNodeProvider {
@@ -2343,7 +3986,10 @@ public class NumberPicker extends LinearLayout {
 
         @Override
         public boolean performAction(int virtualViewId, int action, Bundle arguments) {
-            /*switch (virtualViewId) {
+            if (!mBehavior.hasPlatformInput()) {
+                return false;
+            }
+            switch (virtualViewId) {
                 case View.NO_ID: {
                     switch (action) {
                         case AccessibilityNodeInfo.ACTION_ACCESSIBILITY_FOCUS: {
@@ -2366,7 +4012,7 @@ public class NumberPicker extends LinearLayout {
                         }
                         case AccessibilityNodeInfo.ACTION_SCROLL_FORWARD: {
                             if (NumberPicker.this.isEnabled()
-                                    && (getWrapSelectorWheel() || getValue() < getMaxValue())) {
+                                    && (getWrapSelectorWheel() || mValue < mMaxValue)) {
                                 changeValueByOne(true);
                                 return true;
                             }
@@ -2374,7 +4020,7 @@ public class NumberPicker extends LinearLayout {
                         return false;
                         case AccessibilityNodeInfo.ACTION_SCROLL_BACKWARD: {
                             if (NumberPicker.this.isEnabled()
-                                    && (getWrapSelectorWheel() || getValue() > getMinValue())) {
+                                    && (getWrapSelectorWheel() || mValue > mMinValue)) {
                                 changeValueByOne(false);
                                 return true;
                             }
@@ -2447,7 +4093,7 @@ public class NumberPicker extends LinearLayout {
                                 mAccessibilityFocusedView = virtualViewId;
                                 sendAccessibilityEventForVirtualView(virtualViewId,
                                         AccessibilityEvent.TYPE_VIEW_ACCESSIBILITY_FOCUSED);
-                                invalidate(0, mBottomSelectionDividerBottom, getRight(), getBottom());
+                                invalidateRegions(REGION_INCREMENT_BUTTON);
                                 return true;
                             }
                         }
@@ -2457,7 +4103,7 @@ public class NumberPicker extends LinearLayout {
                                 mAccessibilityFocusedView = UNDEFINED;
                                 sendAccessibilityEventForVirtualView(virtualViewId,
                                         AccessibilityEvent.TYPE_VIEW_ACCESSIBILITY_FOCUS_CLEARED);
-                                invalidate(0, mBottomSelectionDividerBottom, getRight(), getBottom());
+                                invalidateRegions(REGION_INCREMENT_BUTTON);
                                 return true;
                             }
                         }
@@ -2482,7 +4128,7 @@ public class NumberPicker extends LinearLayout {
                                 mAccessibilityFocusedView = virtualViewId;
                                 sendAccessibilityEventForVirtualView(virtualViewId,
                                         AccessibilityEvent.TYPE_VIEW_ACCESSIBILITY_FOCUSED);
-                                invalidate(0, 0, getRight(), mTopSelectionDividerTop);
+                                invalidateRegions(REGION_DECREMENT_BUTTON);
                                 return true;
                             }
                         }
@@ -2492,7 +4138,7 @@ public class NumberPicker extends LinearLayout {
                                 mAccessibilityFocusedView = UNDEFINED;
                                 sendAccessibilityEventForVirtualView(virtualViewId,
                                         AccessibilityEvent.TYPE_VIEW_ACCESSIBILITY_FOCUS_CLEARED);
-                                invalidate(0, 0, getRight(), mTopSelectionDividerTop);
+                                invalidateRegions(REGION_DECREMENT_BUTTON);
                                 return true;
                             }
                         }
@@ -2501,8 +4147,7 @@ public class NumberPicker extends LinearLayout {
                 }
                 return false;
             }
-            return super.performAction(virtualViewId, action, arguments);*/
-            return false;
+            return super.performAction(virtualViewId, action, arguments);
         }
 
         public void sendAccessibilityEventForVirtualView(int virtualViewId, int eventType) {
@@ -2529,18 +4174,18 @@ public class NumberPicker extends LinearLayout {
         }
 
         private void sendAccessibilityEventForVirtualText(int eventType) {
-            /*if (((AccessibilityManager) getContext().getSystemService(Context.ACCESSIBILITY_SERVICE)).isEnabled()) {
+            if (mBehavior.hasPlatformInput() && ((AccessibilityManager) getContext().getSystemService(Context.ACCESSIBILITY_SERVICE)).isEnabled()) {
                 AccessibilityEvent event = AccessibilityEvent.obtain(eventType);
                 mInputText.onInitializeAccessibilityEvent(event);
                 mInputText.onPopulateAccessibilityEvent(event);
                 event.setSource(NumberPicker.this, VIRTUAL_VIEW_ID_INPUT);
                 requestSendAccessibilityEvent(NumberPicker.this, event);
-            }*/
+            }
         }
 
         private void sendAccessibilityEventForVirtualButton(int virtualViewId, int eventType,
                                                             String text) {
-           /* if (((AccessibilityManager) getContext().getSystemService(Context.ACCESSIBILITY_SERVICE)).isEnabled()) {
+            if (mBehavior.hasPlatformInput() && ((AccessibilityManager) getContext().getSystemService(Context.ACCESSIBILITY_SERVICE)).isEnabled()) {
                 AccessibilityEvent event = AccessibilityEvent.obtain(eventType);
                 event.setClassName(Button.class.getName());
                 event.setPackageName(getContext().getPackageName());
@@ -2548,12 +4193,15 @@ public class NumberPicker extends LinearLayout {
                 event.setEnabled(NumberPicker.this.isEnabled());
                 event.setSource(NumberPicker.this, virtualViewId);
                 requestSendAccessibilityEvent(NumberPicker.this, event);
-            }*/
+            }
         }
 
         private void findAccessibilityNodeInfosByTextInChild(String searchedLowerCase,
                                                              int virtualViewId, List<AccessibilityNodeInfo> outResult) {
-        /*    switch (virtualViewId) {
+            if (!mBehavior.hasPlatformInput()) {
+                return;
+            }
+            switch (virtualViewId) {
                 case VIRTUAL_VIEW_ID_DECREMENT: {
                     String text = getVirtualDecrementButtonText();
                     if (!TextUtils.isEmpty(text)
@@ -2585,7 +4233,7 @@ public class NumberPicker extends LinearLayout {
                     }
                 }
                 return;
-            }*/
+            }
         }
 
         private AccessibilityNodeInfo createAccessibiltyNodeInfoForInputText() {
@@ -2594,8 +4242,9 @@ public class NumberPicker extends LinearLayout {
             if (mAccessibilityFocusedView != VIRTUAL_VIEW_ID_INPUT) {
                 info.addAction(AccessibilityNodeInfo.ACTION_ACCESSIBILITY_FOCUS);
             }
-            if (mAccessibilityFocusedView == VIRTUAL_VIEW_ID_INPUT) {
-                //info.addAction(AccessibilityNodeInfo.ACTION_CLEAR_ACCESSIBILITY_FOCUS);
+            if (mAccessibilityFocusedView == VIRTUAL_VIEW_ID_INPUT
+                    && mBehavior.hasPlatformInput()) {
+                info.addAction(AccessibilityNodeInfo.ACTION_CLEAR_ACCESSIBILITY_FOCUS);
             }
             return info;
         }
@@ -2679,10 +4328,10 @@ public class NumberPicker extends LinearLayout {
                 info.addAction(AccessibilityNodeInfo.ACTION_CLEAR_ACCESSIBILITY_FOCUS);
             }
             if (NumberPicker.this.isEnabled()) {
-                if (getWrapSelectorWheel() || getValue() < getMaxValue()) {
+                if (getWrapSelectorWheel() || mValue < mMaxValue) {
                     info.addAction(AccessibilityNodeInfo.ACTION_SCROLL_FORWARD);
                 }
-                if (getWrapSelectorWheel() || getValue() > getMinValue()) {
+                if (getWrapSelectorWheel() || mValue > mMinValue) {
                     info.addAction(AccessibilityNodeInfo.ACTION_SCROLL_BACKWARD);
                 }
             }
@@ -2691,39 +4340,31 @@ public class NumberPicker extends LinearLayout {
         }
 
         private boolean hasVirtualDecrementButton() {
-            return getWrapSelectorWheel() || getValue() > getMinValue();
+            return getWrapSelectorWheel() || mValue > mMinValue;
         }
 
         private boolean hasVirtualIncrementButton() {
-            return getWrapSelectorWheel() || getValue() < getMaxValue();
+            return getWrapSelectorWheel() || mValue < mMaxValue;
         }
 
         private String getVirtualDecrementButtonText() {
-            int value = mValue - 1;
-            if (mWrapSelectorWheel) {
-                value = getWrappedSelectorIndex(value);
-            }
-            if (value >= mMinValue) {
-                return (mDisplayedValues == null) ? formatNumber(value)
-                        : mDisplayedValues[value - mMinValue];
+            long value = getPreviousSelectorIndex(mValue);
+            if (isAllowedValue(value)) {
+                return getCachedScrollSelectorValue(value);
             }
             return null;
         }
 
         private String getVirtualIncrementButtonText() {
-            int value = mValue + 1;
-            if (mWrapSelectorWheel) {
-                value = getWrappedSelectorIndex(value);
-            }
-            if (value <= mMaxValue) {
-                return (mDisplayedValues == null) ? formatNumber(value)
-                        : mDisplayedValues[value - mMinValue];
+            long value = getNextSelectorIndex(mValue);
+            if (isAllowedValue(value)) {
+                return getCachedScrollSelectorValue(value);
             }
             return null;
         }
     }
 
-    static private String formatNumberWithLocale(int value) {
+    static private String formatNumberWithLocale(long value) {
         return String.format(Locale.getDefault(), "%02d", value);
     }
 
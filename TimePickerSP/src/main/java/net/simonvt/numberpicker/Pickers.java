@@ -0,0 +1,180 @@
+package net.simonvt.numberpicker;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Typeface;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.text.DateFormatSymbols;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Entry points shared by the pickers of this library.
+ * <p>
+ * The first {@link TimePicker} inflated in a process pays for class
+ * initialization, typeface and drawable decoding and locale data loading.
+ * {@link #prewarm(Context, Executor)} performs the thread safe part of that
+ * work in the background, typically during application startup.
+ * </p>
+ */
+public final class Pickers {
+
+    /**
+     * The asset path of the font used by the selector wheels.
+     */
+    private static final String CLOCK_FONT_PATH = "fonts/Clock2017L.ttf";
+
+    /**
+     * The drawables decoded by the picker styles.
+     */
+    private static final int[] PREWARM_DRAWABLES = new int[]{
+            R.drawable.item_background_holo_dark,
+            R.drawable.item_background_holo_light,
+            R.drawable.np_numberpicker_selection_divider
+    };
+
+    private static final Object sTypefaceLock = new Object();
+
+    private static volatile Typeface sClockTypeface;
+
+    private static volatile boolean sPrewarmed;
+
+    /**
+     * Callback invoked on the main thread when prewarming has finished.
+     */
+    public interface OnPrewarmFinishedListener {
+
+        /**
+         * Called once all prewarm work has completed. Not called if the work
+         * failed or was cancelled, see {@link Future#get()} for the cause.
+         */
+        void onPrewarmFinished();
+    }
+
+    private Pickers() {
+    }
+
+    /**
+     * Loads picker classes, formatters and resources on the given
+     * <code>executor</code>.
+     *
+     * @param context  The application environment.
+     * @param executor The executor to run the work on, should not be the main thread.
+     * @return A future which completes when prewarming has finished.
+     */
+    public static Future<?> prewarm(Context context, Executor executor) {
+        return prewarm(context, executor, null);
+    }
+
+    /**
+     * Loads picker classes, formatters and resources on the given
+     * <code>executor</code> and notifies <code>listener</code> on the main
+     * thread once done.
+     *
+     * @param context  The application environment.
+     * @param executor The executor to run the work on, should not be the main thread.
+     * @param listener The listener to notify, may be null.
+     * @return A future which completes when prewarming has finished.
+     */
+    public static Future<?> prewarm(Context context, Executor executor,
+                                    final OnPrewarmFinishedListener listener) {
+        final Context appContext = context.getApplicationContext();
+        FutureTask<Void> task = new FutureTask<Void>(new Runnable() {
+            @Override
+            public void run() {
+                prewarmBlocking(appContext);
+            }
+        }, null) {
+            @Override
+            protected void done() {
+                if (listener == null || isCancelled()) {
+                    return;
+                }
+                try {
+                    get();
+                } catch (ExecutionException e) {
+                    return;
+                } catch (InterruptedException e) {
+                    // Cannot happen as the task is done
+                    return;
+                }
+                new Handler(Looper.getMainLooper()).post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onPrewarmFinished();
+                    }
+                });
+            }
+        };
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * @return True if a call to {@link #prewarm(Context, Executor)} has completed.
+     */
+    public static boolean isPrewarmed() {
+        return sPrewarmed;
+    }
+
+    /**
+     * Performs the prewarm work on the calling thread.
+     */
+    @SuppressWarnings("deprecation")
+    private static void prewarmBlocking(Context context) {
+        // Class initialization is thread safe. This computes the Scroller
+        // spline table and creates the shared two digit formatter, which is
+        // safely published by the class initialization and only formats on
+        // the main thread afterwards.
+        initializeClass(Scroller.class);
+        initializeClass(NumberPicker.class);
+        initializeClass(NumberPickerAMPM.class);
+        initializeClass(TimePicker.class);
+
+        getClockTypeface(context);
+
+        Resources resources = context.getResources();
+        for (int drawableResId : PREWARM_DRAWABLES) {
+            resources.getDrawable(drawableResId);
+        }
+
+        // Loads the locale data backing the am/pm strings and date formats,
+        // which is shared by all threads. The date formats themselves are
+        // cached per thread by TimeFormats, the main thread still creates
+        // its own on first use.
+        new DateFormatSymbols().getAmPmStrings();
+        TimePicker.getDisplayDateForRangeSelector(System.currentTimeMillis());
+
+        sPrewarmed = true;
+    }
+
+    private static void initializeClass(Class<?> clazz) {
+        try {
+            Class.forName(clazz.getName(), true, clazz.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            // Cannot happen as the class is referenced directly
+        }
+    }
+
+    /**
+     * @return The typeface of the selector wheels, created once per process.
+     */
+    static Typeface getClockTypeface(Context context) {
+        Typeface typeface = sClockTypeface;
+        if (typeface == null) {
+            synchronized (sTypefaceLock) {
+                typeface = sClockTypeface;
+                if (typeface == null) {
+                    typeface = Typeface.createFromAsset(
+                            context.getApplicationContext().getAssets(), CLOCK_FONT_PATH);
+                    sClockTypeface = typeface;
+                }
+            }
+        }
+        return typeface;
+    }
+}
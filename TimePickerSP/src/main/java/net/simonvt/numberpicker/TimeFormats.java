@@ -0,0 +1,247 @@
+package net.simonvt.numberpicker;
+
+import java.text.FieldPosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * Formats times for display with cached {@link SimpleDateFormat} instances.
+ * <p>
+ * Formatters are created once per pattern and locale on each thread which
+ * uses them, so the methods of this class may be called from any thread.
+ * Patterns without second or millisecond fields also remember their most
+ * recently formatted minutes, which makes repeated labels of the same slot
+ * free of any formatting work.
+ * </p>
+ * <p>
+ * Call {@link #clear()} when the default time zone or the locale changes.
+ * </p>
+ */
+public final class TimeFormats {
+
+    /**
+     * The number of formatted minutes remembered per pattern and locale.
+     */
+    private static final int MINUTE_CACHE_SIZE = 16;
+
+    private static final long MILLIS_PER_MINUTE = 60 * 1000;
+
+    /**
+     * Incremented by {@link #clear()} to invalidate the caches of all threads.
+     */
+    private static volatile int sGeneration;
+
+    private static final ThreadLocal<Cache> sCache = new ThreadLocal<Cache>() {
+        @Override
+        protected Cache initialValue() {
+            return new Cache();
+        }
+    };
+
+    private TimeFormats() {
+    }
+
+    /**
+     * Formats <code>millis</code> with <code>pattern</code> in the default locale.
+     *
+     * @param pattern A {@link SimpleDateFormat} pattern.
+     * @param millis  The time in milliseconds since the epoch.
+     * @return The formatted time.
+     */
+    public static String format(String pattern, long millis) {
+        return format(pattern, Locale.getDefault(), millis);
+    }
+
+    /**
+     * Formats <code>millis</code> with <code>pattern</code> in <code>locale</code>.
+     *
+     * @param pattern A {@link SimpleDateFormat} pattern.
+     * @param locale  The locale to format in.
+     * @param millis  The time in milliseconds since the epoch.
+     * @return The formatted time.
+     */
+    public static String format(String pattern, Locale locale, long millis) {
+        return getFormatter(pattern, locale).format(millis);
+    }
+
+    /**
+     * Appends <code>millis</code> formatted with <code>pattern</code> in the
+     * default locale to <code>out</code>.
+     *
+     * @param pattern A {@link SimpleDateFormat} pattern.
+     * @param millis  The time in milliseconds since the epoch.
+     * @param out     The builder to append to.
+     * @return <code>out</code>
+     */
+    public static StringBuilder formatTo(String pattern, long millis, StringBuilder out) {
+        return formatTo(pattern, Locale.getDefault(), millis, out);
+    }
+
+    /**
+     * Appends <code>millis</code> formatted with <code>pattern</code> in
+     * <code>locale</code> to <code>out</code>.
+     *
+     * @param pattern A {@link SimpleDateFormat} pattern.
+     * @param locale  The locale to format in.
+     * @param millis  The time in milliseconds since the epoch.
+     * @param out     The builder to append to.
+     * @return <code>out</code>
+     */
+    public static StringBuilder formatTo(String pattern, Locale locale, long millis,
+                                         StringBuilder out) {
+        return getFormatter(pattern, locale).formatTo(millis, out);
+    }
+
+    /**
+     * Drops all cached formatters and formatted values, on all threads.
+     */
+    public static void clear() {
+        sGeneration++;
+    }
+
+    private static Formatter getFormatter(String pattern, Locale locale) {
+        Cache cache = sCache.get();
+        int generation = sGeneration;
+        if (cache.generation != generation) {
+            cache.formatters.clear();
+            cache.generation = generation;
+        }
+        HashMap<Locale, Formatter> byLocale = cache.formatters.get(pattern);
+        if (byLocale == null) {
+            byLocale = new HashMap<Locale, Formatter>();
+            cache.formatters.put(pattern, byLocale);
+        }
+        Formatter formatter = byLocale.get(locale);
+        if (formatter == null) {
+            formatter = new Formatter(pattern, locale);
+            byLocale.put(locale, formatter);
+        }
+        return formatter;
+    }
+
+    /**
+     * @return True if <code>pattern</code> contains a second or millisecond field.
+     */
+    static boolean hasSubMinuteFields(String pattern) {
+        boolean quoted = false;
+        for (int i = 0, count = pattern.length(); i < count; i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && (c == 's' || c == 'S')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The formatters of one thread.
+     */
+    private static class Cache {
+        final HashMap<String, HashMap<Locale, Formatter>> formatters =
+                new HashMap<String, HashMap<Locale, Formatter>>();
+
+        int generation = sGeneration;
+    }
+
+    /**
+     * A formatter confined to one thread together with its reusable buffers
+     * and recently formatted minutes.
+     */
+    private static class Formatter {
+        private final SimpleDateFormat mFormat;
+
+        private final Date mDate = new Date();
+
+        private final StringBuffer mBuffer = new StringBuffer();
+
+        private final FieldPosition mFieldPosition = new FieldPosition(0);
+
+        private final long[] mMinutes;
+
+        private final String[] mValues;
+
+        private int mSize;
+
+        Formatter(String pattern, Locale locale) {
+            mFormat = new SimpleDateFormat(pattern, locale);
+            if (hasSubMinuteFields(pattern)) {
+                mMinutes = null;
+                mValues = null;
+            } else {
+                mMinutes = new long[MINUTE_CACHE_SIZE];
+                mValues = new String[MINUTE_CACHE_SIZE];
+            }
+        }
+
+        String format(long millis) {
+            if (mValues == null) {
+                return formatUncached(millis);
+            }
+            long minute = floorMinute(millis);
+            String value = lookup(minute);
+            if (value == null) {
+                value = formatUncached(minute * MILLIS_PER_MINUTE);
+                insert(minute, value);
+            }
+            return value;
+        }
+
+        StringBuilder formatTo(long millis, StringBuilder out) {
+            if (mValues == null) {
+                mBuffer.setLength(0);
+                mDate.setTime(millis);
+                mFormat.format(mDate, mBuffer, mFieldPosition);
+                return out.append(mBuffer);
+            }
+            return out.append(format(millis));
+        }
+
+        private String formatUncached(long millis) {
+            mBuffer.setLength(0);
+            mDate.setTime(millis);
+            return mFormat.format(mDate, mBuffer, mFieldPosition).toString();
+        }
+
+        /**
+         * Finds <code>minute</code> and moves it to the front of the cache.
+         */
+        private String lookup(long minute) {
+            final long[] minutes = mMinutes;
+            for (int i = 0; i < mSize; i++) {
+                if (minutes[i] == minute) {
+                    String value = mValues[i];
+                    System.arraycopy(minutes, 0, minutes, 1, i);
+                    System.arraycopy(mValues, 0, mValues, 1, i);
+                    minutes[0] = minute;
+                    mValues[0] = value;
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Inserts <code>minute</code> at the front, evicting the least recently used.
+         */
+        private void insert(long minute, String value) {
+            int count = Math.min(mSize, MINUTE_CACHE_SIZE - 1);
+            System.arraycopy(mMinutes, 0, mMinutes, 1, count);
+            System.arraycopy(mValues, 0, mValues, 1, count);
+            mMinutes[0] = minute;
+            mValues[0] = value;
+            mSize = count + 1;
+        }
+
+        private static long floorMinute(long millis) {
+            long minute = millis / MILLIS_PER_MINUTE;
+            if (millis % MILLIS_PER_MINUTE < 0) {
+                minute--;
+            }
+            return minute;
+        }
+    }
+}
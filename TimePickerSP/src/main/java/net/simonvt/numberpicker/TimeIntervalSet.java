@@ -0,0 +1,204 @@
+package net.simonvt.numberpicker;
+
+import java.util.Arrays;
+
+/**
+ * A set of non-negative integers, e.g. minutes of the day, made of half-open
+ * intervals <code>[start, end)</code>.
+ * <p>
+ * The intervals are kept sorted and merged in a single array of bounds, so
+ * membership and nearest value queries run in O(log n) for n intervals and do
+ * not allocate. Adding an interval takes O(n).
+ * </p>
+ */
+public final class TimeIntervalSet {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * The start and end of each interval, in ascending order.
+     */
+    private int[] mBounds = new int[2 * INITIAL_CAPACITY];
+
+    private int mSize;
+
+    public TimeIntervalSet() {
+    }
+
+    /**
+     * @param other The set to copy.
+     */
+    public TimeIntervalSet(TimeIntervalSet other) {
+        mBounds = other.mBounds.clone();
+        mSize = other.mSize;
+    }
+
+    /**
+     * Adds the values from <code>start</code> inclusive to <code>end</code>
+     * exclusive, merging it with the intervals it overlaps or touches.
+     *
+     * @throws IllegalArgumentException If <code>start</code> is negative or
+     *                                  not less than <code>end</code>.
+     */
+    public void add(int start, int end) {
+        if (start < 0) {
+            throw new IllegalArgumentException("start must be >= 0");
+        }
+        if (end <= start) {
+            throw new IllegalArgumentException("end must be > start");
+        }
+        // The first interval ending at or after start and the first one
+        // starting after end are the bounds of the intervals to merge.
+        final int first = firstEndingAtOrAfter(start);
+        int last = first;
+        while (last < mSize && mBounds[2 * last] <= end) {
+            last++;
+        }
+        if (first < last) {
+            start = Math.min(start, mBounds[2 * first]);
+            end = Math.max(end, mBounds[2 * last - 1]);
+        }
+        final int removed = last - first;
+        if (removed == 0) {
+            ensureCapacity(mSize + 1);
+        }
+        final int newSize = mSize - removed + 1;
+        System.arraycopy(mBounds, 2 * last, mBounds, 2 * (first + 1), 2 * (mSize - last));
+        mBounds[2 * first] = start;
+        mBounds[2 * first + 1] = end;
+        mSize = newSize;
+    }
+
+    /**
+     * Adds all intervals of <code>other</code>.
+     */
+    public void addAll(TimeIntervalSet other) {
+        for (int i = 0; i < other.mSize; i++) {
+            add(other.mBounds[2 * i], other.mBounds[2 * i + 1]);
+        }
+    }
+
+    /**
+     * Removes all intervals.
+     */
+    public void clear() {
+        mSize = 0;
+    }
+
+    /**
+     * @return True if there are no intervals.
+     */
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    /**
+     * @return The number of disjoint intervals.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * @return True if <code>value</code> is part of an interval.
+     */
+    public boolean contains(int value) {
+        final int index = firstEndingAfter(value);
+        return index < mSize && mBounds[2 * index] <= value;
+    }
+
+    /**
+     * @return The value from <code>lower</code> to <code>upper</code>, both
+     * inclusive, which is not part of any interval and closest to
+     * <code>value</code>, the smaller one on a tie, or -1 if there is none.
+     */
+    public int nearestOutside(int value, int lower, int upper) {
+        if (lower > upper) {
+            return -1;
+        }
+        value = Math.max(lower, Math.min(value, upper));
+        final int index = firstEndingAfter(value);
+        if (index == mSize || mBounds[2 * index] > value) {
+            return value;
+        }
+        // value is within interval index, look just before and after it.
+        final int below = mBounds[2 * index] - 1;
+        final int above = mBounds[2 * index + 1];
+        final boolean hasBelow = below >= lower;
+        final boolean hasAbove = above <= upper;
+        if (hasBelow && (!hasAbove || value - below <= above - value)) {
+            return below;
+        }
+        return hasAbove ? above : -1;
+    }
+
+    /**
+     * @return The index of the first interval whose end is greater than
+     * <code>value</code>, or {@link #size()} if there is none.
+     */
+    private int firstEndingAfter(int value) {
+        int low = 0;
+        int high = mSize;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (mBounds[2 * mid + 1] > value) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private int firstEndingAtOrAfter(int value) {
+        return firstEndingAfter(value - 1);
+    }
+
+    private void ensureCapacity(int size) {
+        if (2 * size > mBounds.length) {
+            mBounds = Arrays.copyOf(mBounds, Math.max(2 * size, 2 * mBounds.length));
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TimeIntervalSet)) {
+            return false;
+        }
+        TimeIntervalSet other = (TimeIntervalSet) o;
+        if (mSize != other.mSize) {
+            return false;
+        }
+        for (int i = 0; i < 2 * mSize; i++) {
+            if (mBounds[i] != other.mBounds[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = mSize;
+        for (int i = 0; i < 2 * mSize; i++) {
+            result = 31 * result + mBounds[i];
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < mSize; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append('[').append(mBounds[2 * i]).append(", ")
+                    .append(mBounds[2 * i + 1]).append(')');
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -18,6 +18,11 @@ package net.simonvt.numberpicker;
 
 import android.content.Context;
 import android.content.res.Configuration;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Rect;
+import android.graphics.Region;
+import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.os.Parcel;
 import android.os.Parcelable;
@@ -27,9 +32,11 @@ import android.text.TextWatcher;
 import android.text.format.DateUtils;
 import android.util.AttributeSet;
 import android.util.Log;
+import android.util.SparseArray;
 import android.view.KeyEvent;
 import android.view.LayoutInflater;
 import android.view.View;
+import android.view.ViewStub;
 import android.view.accessibility.AccessibilityEvent;
 import android.view.accessibility.AccessibilityNodeInfo;
 import android.view.inputmethod.EditorInfo;
@@ -41,7 +48,7 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import java.text.DateFormatSymbols;
-import java.text.SimpleDateFormat;
+import java.text.DecimalFormatSymbols;
 import java.util.Calendar;
 import java.util.Locale;
 
@@ -66,6 +73,34 @@ public class TimePicker extends FrameLayout {
 
     private static final int HOURS_IN_HALF_DAY = 12;
 
+    private static final int SPINNER_HOUR = 1;
+
+    private static final int SPINNER_MINUTE = 1 << 1;
+
+    private static final int SPINNER_SECOND = 1 << 2;
+
+    private static final int SPINNER_HUNDREDTH = 1 << 3;
+
+    private static final int MINUTES_PER_HOUR = 60;
+
+    private static final int MINUTES_PER_DAY = 24 * MINUTES_PER_HOUR;
+
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    private static final int HUNDREDTHS_PER_SECOND = 100;
+
+    private static final int MILLIS_PER_HUNDREDTH = 10;
+
+    /**
+     * The allowed values mask of a spinner which allows all its values.
+     */
+    private static final long ALL_VALUES = -1L;
+
+    /**
+     * The pattern of {@link #getDisplayDateForRangeSelector(long)}.
+     */
+    private static final String RANGE_SELECTOR_PATTERN = "EEE, dd MMM yyyy, hh:mm a";
+
     public interface ICustomEventListener {
         public void isTimeEditOpened(boolean isTimeEditOpened);
     }
@@ -90,12 +125,51 @@ public class TimePicker extends FrameLayout {
 
     private boolean mIsAm;
 
+    // change notification state
+    private boolean mInTimeChangedDispatch;
+
+    private boolean mTimeChangePending;
+
+    private boolean mCancelingEdit;
+
+    private int mLastNotifiedHour = -1;
+
+    private int mLastNotifiedMinute = -1;
+
+    private int mLastNotifiedSecond = -1;
+
+    private int mLastNotifiedHundredth = -1;
+
     // ui components
+    private final View mRoot;
+
     private final NumberPicker mHourSpinner;
 
     private final NumberPicker mMinuteSpinner;
 
-    private final NumberPickerAMPM mAmPmSpinner;
+    private final NumberPicker mAmPmSpinner;
+
+    /**
+     * Inflates the seconds and hundredths columns the first time they are
+     * shown, a picker without them does not pay for their views.
+     */
+    private final ViewStub mSecondsStub;
+
+    private View mSecondsColumns;
+
+    private NumberPicker mSecondSpinner;
+
+    private EditText mSecondSpinnerInput;
+
+    private TextView mHundredthDivider;
+
+    private NumberPicker mHundredthSpinner;
+
+    private EditText mHundredthSpinnerInput;
+
+    private boolean mShowSeconds;
+
+    private boolean mShowHundredths;
 
     public final EditText mHourSpinnerInput;
 
@@ -124,6 +198,61 @@ public class TimePicker extends FrameLayout {
 
     private Locale mCurrentLocale;
 
+    private final AccessibilityEventDispatcher mAccessibilityEventDispatcher;
+
+    /**
+     * Bit mask of the spinners which are scrolling or flinging.
+     */
+    private int mScrollingSpinners;
+
+    /**
+     * The background color in opaque mode, or {@link Color#TRANSPARENT}.
+     */
+    private int mOpaqueBackgroundColor = Color.TRANSPARENT;
+
+    /**
+     * The background of {@link #mRoot} to restore when leaving opaque mode.
+     */
+    private Drawable mRootBackground;
+
+    private final Rect mTempRect = new Rect();
+
+    /**
+     * The earliest allowed time, in minutes of the day.
+     */
+    private int mMinTime;
+
+    /**
+     * The latest allowed time, in minutes of the day.
+     */
+    private int mMaxTime = MINUTES_PER_DAY - 1;
+
+    /**
+     * The blocked intervals, in minutes of the day.
+     */
+    private final TimeIntervalSet mBlockedTimes = new TimeIntervalSet();
+
+    /**
+     * The blocked intervals and the times before {@link #mMinTime} and after
+     * {@link #mMaxTime}, in minutes of the day.
+     */
+    private final TimeIntervalSet mDisallowedTimes = new TimeIntervalSet();
+
+    /**
+     * Bit mask of the hours of the day with at least one allowed minute.
+     */
+    private int mAllowedHours = (1 << 24) - 1;
+
+    /**
+     * The masks of the values the hour, minute and AM/PM spinners are
+     * restricted to, bit n for value n, or {@link #ALL_VALUES}.
+     */
+    private long mHourValuesMask = ALL_VALUES;
+
+    private long mMinuteValuesMask = ALL_VALUES;
+
+    private long mAmPmValuesMask = ALL_VALUES;
+
     /**
      * The callback interface used to indicate the time has been adjusted.
      */
@@ -137,6 +266,26 @@ public class TimePicker extends FrameLayout {
         void onTimeChanged(TimePicker view, int hourOfDay, int minute);
     }
 
+    /**
+     * The callback interface used to indicate the time has been adjusted,
+     * including the seconds and hundredths of a second. Only
+     * {@link #onTimeChanged(TimePicker, int, int, int, int)} is called on
+     * this listener, also when just the seconds or hundredths changed.
+     */
+    public interface OnPreciseTimeChangedListener extends OnTimeChangedListener {
+
+        /**
+         * @param view      The view associated with this listener.
+         * @param hourOfDay The current hour.
+         * @param minute    The current minute.
+         * @param second    The current second, 0 if the seconds are not shown.
+         * @param hundredth The current hundredth of a second, 0 if the
+         *                  hundredths are not shown.
+         */
+        void onTimeChanged(TimePicker view, int hourOfDay, int minute, int second,
+                           int hundredth);
+    }
+
     public TimePicker(Context context) {
         this(context, null);
     }
@@ -162,11 +311,14 @@ public class TimePicker extends FrameLayout {
         LayoutInflater inflater = (LayoutInflater) context.getSystemService(
                 Context.LAYOUT_INFLATER_SERVICE);
         inflater.inflate(layoutResourceId, this, true);
+        mRoot = getChildAt(0);
 
         imm = (InputMethodManager) getContext()
                 .getSystemService(Context.INPUT_METHOD_SERVICE);
+        mAccessibilityEventDispatcher = new AccessibilityEventDispatcher(this);
         // hour
         mHourSpinner = findViewById(R.id.hour);
+        mHourSpinner.setOnScrollListener(new SpinnerScrollListener(SPINNER_HOUR));
         mEditHour = findViewById(R.id.edit_hour);
         mEditMin = findViewById(R.id.edit_min);
 
@@ -174,10 +326,13 @@ public class TimePicker extends FrameLayout {
             public void onValueChange(NumberPicker spinner, int oldVal, int newVal) {
                 // updateInputState();
                 if (!is24HourView()) {
-                    if ((oldVal == HOURS_IN_HALF_DAY - 1 && newVal == HOURS_IN_HALF_DAY)
-                            || (oldVal == HOURS_IN_HALF_DAY && newVal == HOURS_IN_HALF_DAY - 1)) {
-                        mIsAm = !mIsAm;
-                        updateAmPmControl();
+                    // The wheel only holds the allowed hours of one half of
+                    // the day, a step on it may pass noon or midnight.
+                    final int oldHourOfDay = HourConverter.toHourOfDay(oldVal, mIsAm);
+                    if (isAdjacentOnWheel(mHourSpinner, oldVal, newVal, true)) {
+                        showAdjacentHour(oldHourOfDay, true);
+                    } else if (isAdjacentOnWheel(mHourSpinner, oldVal, newVal, false)) {
+                        showAdjacentHour(oldHourOfDay, false);
                     }
                 }
 
@@ -229,25 +384,16 @@ public class TimePicker extends FrameLayout {
         mMinuteSpinner.setMaxValue(59);
         mMinuteSpinner.setOnLongPressUpdateInterval(100);
         mMinuteSpinner.setFormatter(NumberPicker.getTwoDigitFormatter());
+        mMinuteSpinner.setOnScrollListener(new SpinnerScrollListener(SPINNER_MINUTE));
         mMinuteSpinner.setOnValueChangedListener(new NumberPicker.OnValueChangeListener() {
             public void onValueChange(NumberPicker spinner, int oldVal, int newVal) {
                 updateInputState();
                 int minValue = mMinuteSpinner.getMinValue();
                 int maxValue = mMinuteSpinner.getMaxValue();
                 if (oldVal == maxValue && newVal == minValue) {
-                    int newHour = mHourSpinner.getValue() + 1;
-                    if (!is24HourView() && newHour == HOURS_IN_HALF_DAY) {
-                        mIsAm = !mIsAm;
-                        updateAmPmControl();
-                    }
-                    mHourSpinner.setValue(newHour);
+                    showAdjacentHour(getCurrentHour(), true);
                 } else if (oldVal == minValue && newVal == maxValue) {
-                    int newHour = mHourSpinner.getValue() - 1;
-                    if (!is24HourView() && newHour == HOURS_IN_HALF_DAY - 1) {
-                        mIsAm = !mIsAm;
-                        updateAmPmControl();
-                    }
-                    mHourSpinner.setValue(newHour);
+                    showAdjacentHour(getCurrentHour(), false);
                 }
                 onTimeChanged();
             }
@@ -385,6 +531,8 @@ public class TimePicker extends FrameLayout {
         /* Get the localized am/pm strings and use them in the spinner */
         mAmPmStrings = new DateFormatSymbols().getAmPmStrings();
 
+        mSecondsStub = findViewById(R.id.seconds_stub);
+
         // am/pm
         View amPmView = findViewById(R.id.amPm);
         if (amPmView instanceof Button) {
@@ -403,14 +551,14 @@ public class TimePicker extends FrameLayout {
             });
         } else {
             mAmPmButton = null;
-            mAmPmSpinner = (NumberPickerAMPM) amPmView;
+            mAmPmSpinner = (NumberPicker) amPmView;
             mAmPmSpinner.setMinValue(0);
             mAmPmSpinner.setMaxValue(1);
             mAmPmSpinner.setDisplayedValues(mAmPmStrings);
-            mAmPmSpinner.setOnValueChangedListener(new NumberPickerAMPM.OnValueChangeListener() {
+            mAmPmSpinner.setOnValueChangedListener(new NumberPicker.OnValueChangeListener() {
 
                 @Override
-                public void onValueChange(NumberPickerAMPM picker, int oldVal, int newVal) {
+                public void onValueChange(NumberPicker picker, int oldVal, int newVal) {
 
                     // updateInputState();
                     // picker.requestFocus();
@@ -490,6 +638,10 @@ public class TimePicker extends FrameLayout {
         }
         super.setEnabled(enabled);
         mMinuteSpinner.setEnabled(enabled);
+        if (mSecondSpinner != null) {
+            mSecondSpinner.setEnabled(enabled);
+            mHundredthSpinner.setEnabled(enabled);
+        }
         if (mDivider != null) {
             mDivider.setEnabled(enabled);
         }
@@ -507,6 +659,81 @@ public class TimePicker extends FrameLayout {
         return mIsEnabled;
     }
 
+    /**
+     * Paints the background of this widget in <code>color</code>, once per
+     * pixel. The spinners paint their own area and declare themselves opaque,
+     * this widget paints the rest around them instead of a background below.
+     *
+     * @param color An opaque color, or {@link Color#TRANSPARENT} to go back
+     *              to the background of the layout.
+     * @throws IllegalArgumentException If <code>color</code> is translucent.
+     */
+    public void setOpaqueBackgroundColor(int color) {
+        // Validates the color before anything changes.
+        mHourSpinner.setOpaqueBackgroundColor(color);
+        mMinuteSpinner.setOpaqueBackgroundColor(color);
+        if (mAmPmSpinner != null) {
+            mAmPmSpinner.setOpaqueBackgroundColor(color);
+        }
+        if (mSecondSpinner != null) {
+            mSecondSpinner.setOpaqueBackgroundColor(color);
+            mHundredthSpinner.setOpaqueBackgroundColor(color);
+        }
+        if (mOpaqueBackgroundColor == color) {
+            return;
+        }
+        if (mOpaqueBackgroundColor == Color.TRANSPARENT) {
+            mRootBackground = mRoot.getBackground();
+            mRoot.setBackground(null);
+        } else if (color == Color.TRANSPARENT) {
+            mRoot.setBackground(mRootBackground);
+            mRootBackground = null;
+        }
+        mOpaqueBackgroundColor = color;
+        invalidate();
+    }
+
+    @Override
+    public boolean isOpaque() {
+        return mOpaqueBackgroundColor != Color.TRANSPARENT || super.isOpaque();
+    }
+
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        if (mOpaqueBackgroundColor != Color.TRANSPARENT) {
+            final int saveCount = canvas.save();
+            clipOutOpaqueSpinner(canvas, mHourSpinner);
+            clipOutOpaqueSpinner(canvas, mMinuteSpinner);
+            clipOutOpaqueSpinner(canvas, mAmPmSpinner);
+            if (mShowSeconds) {
+                clipOutOpaqueSpinner(canvas, mSecondSpinner);
+                clipOutOpaqueSpinner(canvas, mHundredthSpinner);
+            }
+            canvas.drawColor(mOpaqueBackgroundColor);
+            canvas.restoreToCount(saveCount);
+        }
+        super.dispatchDraw(canvas);
+    }
+
+    /**
+     * Excludes the area of <code>spinner</code>, which paints it itself, from
+     * the clip of <code>canvas</code>.
+     */
+    private void clipOutOpaqueSpinner(Canvas canvas, NumberPicker spinner) {
+        if (spinner == null || spinner.getVisibility() != VISIBLE || !spinner.isOpaque()) {
+            return;
+        }
+        mTempRect.set(0, 0, spinner.getWidth(), spinner.getHeight());
+        offsetDescendantRectToMyCoords(spinner, mTempRect);
+        canvas.clipRect(mTempRect, Region.Op.DIFFERENCE);
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        mAccessibilityEventDispatcher.cancel();
+    }
+
     @Override
     protected void onConfigurationChanged(Configuration newConfig) {
         super.onConfigurationChanged(newConfig);
@@ -527,39 +754,135 @@ public class TimePicker extends FrameLayout {
     }
 
     /**
-     * Used to save / restore state of time picker
+     * Holds back accessibility events while a spinner scrolls, so only the
+     * time it settles on is announced.
+     */
+    private class SpinnerScrollListener implements NumberPicker.OnScrollListener {
+        private final int mSpinner;
+
+        SpinnerScrollListener(int spinner) {
+            mSpinner = spinner;
+        }
+
+        @Override
+        public void onScrollStateChange(NumberPicker view, int scrollState) {
+            if (scrollState == SCROLL_STATE_IDLE) {
+                mScrollingSpinners &= ~mSpinner;
+            } else {
+                mScrollingSpinners |= mSpinner;
+            }
+            mAccessibilityEventDispatcher.setHeld(mScrollingSpinners != 0);
+        }
+    }
+
+    /**
+     * Used to save / restore state of time picker. The whole state is packed
+     * into a single long:
+     * <pre>
+     * bits 0-5   minute
+     * bits 6-10  hour of day, which also gives the AM/PM flag
+     * bit  11    24 hour view
+     * bit  12    editing with the keyboard
+     * bit  13    seconds shown
+     * bit  14    hundredths shown
+     * bits 16-21 second
+     * bits 24-30 hundredth of a second
+     * bits 56-63 format version
+     * </pre>
      */
     private static class SavedState extends BaseSavedState {
 
-        private final int mHour;
+        private static final long VERSION = 3;
+
+        private static final int MINUTE_MASK = 0x3f;
+
+        private static final int HOUR_SHIFT = 6;
+
+        private static final int HOUR_MASK = 0x1f;
+
+        private static final long FLAG_24_HOUR_VIEW = 1L << 11;
+
+        private static final long FLAG_EDITING = 1L << 12;
+
+        private static final long FLAG_SHOW_SECONDS = 1L << 13;
+
+        private static final long FLAG_SHOW_HUNDREDTHS = 1L << 14;
+
+        private static final int SECOND_SHIFT = 16;
 
-        private final int mMinute;
+        private static final int SECOND_MASK = 0x3f;
 
-        private SavedState(Parcelable superState, int hour, int minute) {
+        private static final int HUNDREDTH_SHIFT = 24;
+
+        private static final int HUNDREDTH_MASK = 0x7f;
+
+        private static final int VERSION_SHIFT = 56;
+
+        private final long mState;
+
+        private SavedState(Parcelable superState, int hourOfDay, int minute,
+                           boolean is24HourView, boolean editing, int second,
+                           int hundredth, boolean showSeconds, boolean showHundredths) {
             super(superState);
-            mHour = hour;
-            mMinute = minute;
+            mState = VERSION << VERSION_SHIFT
+                    | (long) hundredth << HUNDREDTH_SHIFT
+                    | (long) second << SECOND_SHIFT
+                    | (showHundredths ? FLAG_SHOW_HUNDREDTHS : 0)
+                    | (showSeconds ? FLAG_SHOW_SECONDS : 0)
+                    | (editing ? FLAG_EDITING : 0)
+                    | (is24HourView ? FLAG_24_HOUR_VIEW : 0)
+                    | hourOfDay << HOUR_SHIFT
+                    | minute;
         }
 
         private SavedState(Parcel in) {
             super(in);
-            mHour = in.readInt();
-            mMinute = in.readInt();
+            mState = in.readLong();
         }
 
-        public int getHour() {
-            return mHour;
+        /**
+         * @return False if the state was written by an incompatible version.
+         */
+        public boolean isValid() {
+            return mState >>> VERSION_SHIFT == VERSION;
+        }
+
+        public int getHourOfDay() {
+            return (int) (mState >> HOUR_SHIFT) & HOUR_MASK;
         }
 
         public int getMinute() {
-            return mMinute;
+            return (int) mState & MINUTE_MASK;
+        }
+
+        public boolean is24HourView() {
+            return (mState & FLAG_24_HOUR_VIEW) != 0;
+        }
+
+        public boolean isEditing() {
+            return (mState & FLAG_EDITING) != 0;
+        }
+
+        public int getSecond() {
+            return (int) (mState >> SECOND_SHIFT) & SECOND_MASK;
+        }
+
+        public int getHundredth() {
+            return (int) (mState >> HUNDREDTH_SHIFT) & HUNDREDTH_MASK;
+        }
+
+        public boolean isShowingSeconds() {
+            return (mState & FLAG_SHOW_SECONDS) != 0;
+        }
+
+        public boolean isShowingHundredths() {
+            return (mState & FLAG_SHOW_HUNDREDTHS) != 0;
         }
 
         @Override
         public void writeToParcel(Parcel dest, int flags) {
             super.writeToParcel(dest, flags);
-            dest.writeInt(mHour);
-            dest.writeInt(mMinute);
+            dest.writeLong(mState);
         }
 
         @SuppressWarnings({"unused", "hiding"})
@@ -574,18 +897,50 @@ public class TimePicker extends FrameLayout {
         };
     }
 
+    @Override
+    protected void dispatchSaveInstanceState(SparseArray<Parcelable> container) {
+        // The spinners and edit texts are covered by the state of this view.
+        dispatchFreezeSelfOnly(container);
+    }
+
+    @Override
+    protected void dispatchRestoreInstanceState(SparseArray<Parcelable> container) {
+        dispatchThawSelfOnly(container);
+    }
+
     @Override
     protected Parcelable onSaveInstanceState() {
         Parcelable superState = super.onSaveInstanceState();
-        return new SavedState(superState, getCurrentHour(), getCurrentMinute());
+        return new SavedState(superState, getCurrentHour(), getCurrentMinute(),
+                is24HourView(), mEditHour.getVisibility() == View.VISIBLE,
+                getCurrentSecond(), getCurrentHundredth(), mShowSeconds, mShowHundredths);
     }
 
     @Override
     protected void onRestoreInstanceState(Parcelable state) {
         SavedState ss = (SavedState) state;
         super.onRestoreInstanceState(ss.getSuperState());
-        setCurrentHour(ss.getHour());
-        setCurrentMinute(ss.getMinute());
+        if (!ss.isValid()) {
+            return;
+        }
+        // Apply everything at once without notifying the listener.
+        if (mIs24HourView != ss.is24HourView()) {
+            mIs24HourView = ss.is24HourView();
+            updateHourControl();
+        }
+        mCalendar.set(Calendar.HOUR_OF_DAY, ss.getHourOfDay());
+        mCalendar.set(Calendar.MINUTE, ss.getMinute());
+        setShowSecondColumns(ss.isShowingSeconds(), ss.isShowingHundredths());
+        showSeconds(ss.getSecond(), ss.getHundredth());
+        applyTime(ss.getHourOfDay(), ss.getMinute());
+        if (ss.isEditing()) {
+            mEditHour.setText(mHourSpinnerInput.getText().toString());
+            mEditMin.setText(mMinuteSpinnerInput.getText().toString());
+            mEditHour.setVisibility(View.VISIBLE);
+            mEditMin.setVisibility(View.VISIBLE);
+            mMinuteSpinner.setVisibility(View.INVISIBLE);
+            mHourSpinner.setVisibility(View.INVISIBLE);
+        }
     }
 
     /**
@@ -602,37 +957,10 @@ public class TimePicker extends FrameLayout {
      */
     public Integer getCurrentHour() {
         int currentHour = mHourSpinner.getValue();
-
-       /* if (is24HourView()) {
-            return currentHour;
-        } else if (mIsAm) {
-            return currentHour % HOURS_IN_HALF_DAY;
-        } else {
-            return (currentHour % HOURS_IN_HALF_DAY) + HOURS_IN_HALF_DAY;
-        }*/
         if (is24HourView()) {
             return currentHour;
-        } else {
-            int returnHour = 0;
-            if (mIsAm) {
-
-                if (currentHour == 12)
-                    returnHour = 0;
-                else
-                    returnHour = currentHour;
-
-            } else {
-
-                if (currentHour == 12)
-                    returnHour = 12;
-                else
-                    returnHour = currentHour + 12;
-
-            }
-
-            return returnHour;
         }
-
+        return HourConverter.toHourOfDay(currentHour, mIsAm);
     }
 
 
@@ -648,22 +976,10 @@ public class TimePicker extends FrameLayout {
         if (currentHour == null || currentHour == getCurrentHour()) {
             return;
         }
+        showTime(currentHour, getCurrentMinute());
         if (!is24HourView()) {
-            // convert [0,23] ordinal to wall clock display
-            if (currentHour >= HOURS_IN_HALF_DAY) {
-                mIsAm = false;
-                if (currentHour > HOURS_IN_HALF_DAY) {
-                    currentHour = currentHour - HOURS_IN_HALF_DAY;
-                }
-            } else {
-                mIsAm = true;
-                if (currentHour == 0) {
-                    currentHour = HOURS_IN_HALF_DAY;
-                }
-            }
             updateAmPmControl();
         }
-        mHourSpinner.setValue(currentHour);
         onTimeChanged();
     }
 
@@ -683,6 +999,7 @@ public class TimePicker extends FrameLayout {
         // set value after spinner range is updated
         setCurrentHour(currentHour);
         updateAmPmControl();
+        showTime(getCurrentHour(), getCurrentMinute());
     }
 
     /**
@@ -706,10 +1023,156 @@ public class TimePicker extends FrameLayout {
         if (currentMinute == getCurrentMinute()) {
             return;
         }
-        mMinuteSpinner.setValue(currentMinute);
+        showTime(getCurrentHour(), currentMinute);
+        onTimeChanged();
+    }
+
+    /**
+     * Sets whether to show a seconds column after the minutes. Hiding the
+     * seconds hides the hundredths too. The columns are inflated the first
+     * time they are shown and start at the seconds of {@link #getCalendar()}.
+     * They wrap around on their own, without carrying into the minutes.
+     */
+    public void setShowSeconds(boolean showSeconds) {
+        setShowSecondColumns(showSeconds, showSeconds && mShowHundredths);
+    }
+
+    /**
+     * @return Whether the seconds column is shown.
+     */
+    public boolean isShowingSeconds() {
+        return mShowSeconds;
+    }
+
+    /**
+     * Sets whether to show a column of hundredths of a second after the
+     * seconds. Showing the hundredths shows the seconds too.
+     */
+    public void setShowHundredths(boolean showHundredths) {
+        setShowSecondColumns(mShowSeconds || showHundredths, showHundredths);
+    }
+
+    /**
+     * @return Whether the hundredths of a second column is shown.
+     */
+    public boolean isShowingHundredths() {
+        return mShowHundredths;
+    }
+
+    private void setShowSecondColumns(boolean showSeconds, boolean showHundredths) {
+        if (showSeconds == mShowSeconds && showHundredths == mShowHundredths) {
+            return;
+        }
+        if (showSeconds && mSecondSpinner == null) {
+            inflateSecondColumns();
+        }
+        mShowSeconds = showSeconds;
+        mShowHundredths = showHundredths;
+        if (mSecondSpinner != null) {
+            mSecondsColumns.setVisibility(showSeconds ? View.VISIBLE : View.GONE);
+            final int hundredthsVisibility = showHundredths ? View.VISIBLE : View.GONE;
+            mHundredthDivider.setVisibility(hundredthsVisibility);
+            mHundredthSpinner.setVisibility(hundredthsVisibility);
+        }
+        // Showing or hiding a column is not a change made by the user.
+        mLastNotifiedSecond = getCurrentSecond();
+        mLastNotifiedHundredth = getCurrentHundredth();
+    }
+
+    private void inflateSecondColumns() {
+        mSecondsColumns = mSecondsStub.inflate();
+        mSecondSpinner = mSecondsColumns.findViewById(R.id.seconds);
+        mSecondSpinnerInput = mSecondSpinner.findViewById(R.id.np__numberpicker_input);
+        mHundredthDivider = mSecondsColumns.findViewById(R.id.hundredths_divider);
+        mHundredthDivider.setText(String.valueOf(
+                new DecimalFormatSymbols(mCurrentLocale).getDecimalSeparator()));
+        mHundredthSpinner = mSecondsColumns.findViewById(R.id.hundredths);
+        mHundredthSpinnerInput = mHundredthSpinner.findViewById(R.id.np__numberpicker_input);
+
+        NumberPicker.OnValueChangeListener onValueChangeListener =
+                new NumberPicker.OnValueChangeListener() {
+                    public void onValueChange(NumberPicker spinner, int oldVal, int newVal) {
+                        updateInputState();
+                        onTimeChanged();
+                    }
+                };
+        mSecondSpinner.configure(0, SECONDS_PER_MINUTE - 1, null,
+                NumberPicker.getTwoDigitFormatter(), true);
+        mSecondSpinner.setOnLongPressUpdateInterval(100);
+        mSecondSpinner.setOnScrollListener(new SpinnerScrollListener(SPINNER_SECOND));
+        mSecondSpinner.setOnValueChangedListener(onValueChangeListener);
+        mHundredthSpinner.configure(0, HUNDREDTHS_PER_SECOND - 1, null,
+                NumberPicker.getTwoDigitFormatter(), true);
+        mHundredthSpinner.setOnLongPressUpdateInterval(100);
+        mHundredthSpinner.setOnScrollListener(new SpinnerScrollListener(SPINNER_HUNDREDTH));
+        mHundredthSpinner.setOnValueChangedListener(onValueChangeListener);
+
+        if (mOpaqueBackgroundColor != Color.TRANSPARENT) {
+            mSecondSpinner.setOpaqueBackgroundColor(mOpaqueBackgroundColor);
+            mHundredthSpinner.setOpaqueBackgroundColor(mOpaqueBackgroundColor);
+        }
+        if (!mIsEnabled) {
+            mSecondSpinner.setEnabled(false);
+            mHundredthSpinner.setEnabled(false);
+        }
+        showSeconds(mCalendar.get(Calendar.SECOND),
+                mCalendar.get(Calendar.MILLISECOND) / MILLIS_PER_HUNDREDTH);
+    }
+
+    /**
+     * @return The current second, 0 if the seconds are not shown.
+     */
+    public int getCurrentSecond() {
+        return mShowSeconds ? mSecondSpinner.getValue() : 0;
+    }
+
+    /**
+     * Set the current second (0-59). Has no effect unless the seconds are
+     * shown.
+     *
+     * @see #setShowSeconds(boolean)
+     */
+    public void setCurrentSecond(int currentSecond) {
+        if (!mShowSeconds || currentSecond == getCurrentSecond()) {
+            return;
+        }
+        mSecondSpinner.setValue(currentSecond);
+        onTimeChanged();
+    }
+
+    /**
+     * @return The current hundredth of a second, 0 if the hundredths are not
+     * shown.
+     */
+    public int getCurrentHundredth() {
+        return mShowHundredths ? mHundredthSpinner.getValue() : 0;
+    }
+
+    /**
+     * Set the current hundredth of a second (0-99). Has no effect unless the
+     * hundredths are shown.
+     *
+     * @see #setShowHundredths(boolean)
+     */
+    public void setCurrentHundredth(int currentHundredth) {
+        if (!mShowHundredths || currentHundredth == getCurrentHundredth()) {
+            return;
+        }
+        mHundredthSpinner.setValue(currentHundredth);
         onTimeChanged();
     }
 
+    /**
+     * Shows the given second and hundredth in the spinners, if inflated,
+     * without notifying the listener.
+     */
+    private void showSeconds(int second, int hundredth) {
+        if (mSecondSpinner != null) {
+            mSecondSpinner.setValue(second);
+            mHundredthSpinner.setValue(hundredth);
+        }
+    }
+
     @Override
     public int getBaseline() {
         return mHourSpinner.getBaseline();
@@ -752,17 +1215,311 @@ public class TimePicker extends FrameLayout {
 
     private void updateHourControl() {
         if (is24HourView()) {
-            mHourSpinner.setMinValue(0);
-            mHourSpinner.setMaxValue(23);
-            mHourSpinner.setFormatter(NumberPicker.getTwoDigitFormatter());
+            mHourSpinner.configure(0, 23, null, NumberPicker.getTwoDigitFormatter(), true);
         } else {
-            mHourSpinner.setMinValue(1);
-            mHourSpinner.setMaxValue(12);
-            mHourSpinner.setFormatter(null);
+            mHourSpinner.configure(1, 12, null, null, true);
         }
+        mHourValuesMask = ALL_VALUES;
+    }
+
+    /**
+     * Sets the earliest time which can be picked. Earlier times are skipped
+     * by the spinners and the current time moves to the nearest allowed time.
+     *
+     * @param hourOfDay The hour in the range (0-23).
+     * @param minute    The minute in the range (0-59).
+     * @throws IllegalArgumentException If the time is invalid or after the
+     *                                  max time.
+     */
+    public void setMinTime(int hourOfDay, int minute) {
+        final int time = toMinuteOfDay(hourOfDay, minute);
+        if (time > mMaxTime) {
+            throw new IllegalArgumentException("min time must not be after max time");
+        }
+        mMinTime = time;
+        onTimeConstraintsChanged();
+    }
+
+    /**
+     * Sets the latest time which can be picked, inclusive. Later times are
+     * skipped by the spinners and the current time moves to the nearest
+     * allowed time.
+     *
+     * @param hourOfDay The hour in the range (0-23).
+     * @param minute    The minute in the range (0-59).
+     * @throws IllegalArgumentException If the time is invalid or before the
+     *                                  min time.
+     */
+    public void setMaxTime(int hourOfDay, int minute) {
+        final int time = toMinuteOfDay(hourOfDay, minute);
+        if (time < mMinTime) {
+            throw new IllegalArgumentException("max time must not be before min time");
+        }
+        mMaxTime = time;
+        onTimeConstraintsChanged();
+    }
+
+    /**
+     * Blocks the times from the start inclusive to the end exclusive, e.g. a
+     * closed booking slot. An interval ending before it starts spans
+     * midnight. Blocked times are skipped by the spinners and the current
+     * time moves to the nearest allowed time.
+     *
+     * @throws IllegalArgumentException If a time is invalid or the interval
+     *                                  is empty.
+     */
+    public void addBlockedInterval(int startHourOfDay, int startMinute,
+                                   int endHourOfDay, int endMinute) {
+        final int start = toMinuteOfDay(startHourOfDay, startMinute);
+        final int end = toMinuteOfDay(endHourOfDay, endMinute);
+        if (start == end) {
+            throw new IllegalArgumentException("The interval must not be empty");
+        }
+        if (start < end) {
+            mBlockedTimes.add(start, end);
+        } else {
+            mBlockedTimes.add(start, MINUTES_PER_DAY);
+            if (end > 0) {
+                mBlockedTimes.add(0, end);
+            }
+        }
+        onTimeConstraintsChanged();
+    }
+
+    /**
+     * Removes all intervals added by
+     * {@link #addBlockedInterval(int, int, int, int)}.
+     */
+    public void clearBlockedIntervals() {
+        if (mBlockedTimes.isEmpty()) {
+            return;
+        }
+        mBlockedTimes.clear();
+        onTimeConstraintsChanged();
+    }
+
+    /**
+     * @return Whether the given time is within the min and max time and not
+     * blocked.
+     */
+    public boolean isTimeAllowed(int hourOfDay, int minute) {
+        return !mDisallowedTimes.contains(toMinuteOfDay(hourOfDay, minute));
+    }
+
+    private static int toMinuteOfDay(int hourOfDay, int minute) {
+        if (hourOfDay < 0 || hourOfDay >= MINUTES_PER_DAY / MINUTES_PER_HOUR) {
+            throw new IllegalArgumentException("hourOfDay must be in the range (0-23)");
+        }
+        if (minute < 0 || minute >= MINUTES_PER_HOUR) {
+            throw new IllegalArgumentException("minute must be in the range (0-59)");
+        }
+        return hourOfDay * MINUTES_PER_HOUR + minute;
+    }
+
+    private void onTimeConstraintsChanged() {
+        mDisallowedTimes.clear();
+        mDisallowedTimes.addAll(mBlockedTimes);
+        if (mMinTime > 0) {
+            mDisallowedTimes.add(0, mMinTime);
+        }
+        if (mMaxTime < MINUTES_PER_DAY - 1) {
+            mDisallowedTimes.add(mMaxTime + 1, MINUTES_PER_DAY);
+        }
+        int allowedHours = 0;
+        for (int hour = 0; hour < MINUTES_PER_DAY / MINUTES_PER_HOUR; hour++) {
+            final int start = hour * MINUTES_PER_HOUR;
+            if (mDisallowedTimes.nearestOutside(start, start,
+                    start + MINUTES_PER_HOUR - 1) >= 0) {
+                allowedHours |= 1 << hour;
+            }
+        }
+        mAllowedHours = allowedHours;
+        showTime(getCurrentHour(), getCurrentMinute());
+        onTimeChanged();
+    }
+
+    /**
+     * Shows the allowed time nearest to the given time, preferring one in the
+     * same hour, in the spinners without notifying the listener. The spinners
+     * are restricted to the values allowed around that time first, so they
+     * skip disallowed values while scrolling.
+     */
+    private void showTime(int hourOfDay, int minute) {
+        if (!mDisallowedTimes.isEmpty()) {
+            final int time = hourOfDay * MINUTES_PER_HOUR + minute;
+            final int hourStart = hourOfDay * MINUTES_PER_HOUR;
+            int allowed = mDisallowedTimes.nearestOutside(time, hourStart,
+                    hourStart + MINUTES_PER_HOUR - 1);
+            if (allowed < 0) {
+                allowed = mDisallowedTimes.nearestOutside(time, 0, MINUTES_PER_DAY - 1);
+            }
+            // Nothing is allowed at all if still negative, leave it alone then.
+            if (allowed >= 0) {
+                hourOfDay = allowed / MINUTES_PER_HOUR;
+                minute = allowed % MINUTES_PER_HOUR;
+            }
+        }
+        if (is24HourView()) {
+            restrictHourSpinner(mAllowedHours);
+            mHourSpinner.setValue(hourOfDay);
+        } else {
+            mIsAm = HourConverter.isAm(hourOfDay);
+            long hours = 0;
+            for (int hour = 1; hour <= HOURS_IN_HALF_DAY; hour++) {
+                if ((mAllowedHours & (1 << HourConverter.toHourOfDay(hour, mIsAm))) != 0) {
+                    hours |= 1L << hour;
+                }
+            }
+            restrictHourSpinner(hours);
+            mHourSpinner.setValue(HourConverter.toHour12(hourOfDay));
+        }
+        restrictMinuteSpinner(hourOfDay);
+        mMinuteSpinner.setValue(minute);
+        restrictAmPmSpinner();
+        applyAmPmControl();
+    }
+
+    /**
+     * Shows the allowed hour after or before <code>hourOfDay</code> in the
+     * order of the day, switching between AM and PM when passing noon or
+     * midnight.
+     */
+    private void showAdjacentHour(int hourOfDay, boolean forward) {
+        final boolean wasAm = mIsAm;
+        showTime(getAdjacentAllowedHour(hourOfDay, forward), getCurrentMinute());
+        if (mIsAm != wasAm) {
+            updateAmPmControl();
+        }
+    }
+
+    /**
+     * @return The first allowed hour after <code>hourOfDay</code>, or before
+     * it if not <code>forward</code>, wrapping around midnight, or
+     * <code>hourOfDay</code> if no other hour is allowed.
+     */
+    private int getAdjacentAllowedHour(int hourOfDay, boolean forward) {
+        final int hoursPerDay = MINUTES_PER_DAY / MINUTES_PER_HOUR;
+        for (int i = 1; i < hoursPerDay; i++) {
+            final int hour = (hourOfDay + (forward ? i : hoursPerDay - i)) % hoursPerDay;
+            if ((mAllowedHours & (1 << hour)) != 0) {
+                return hour;
+            }
+        }
+        return hourOfDay;
+    }
+
+    /**
+     * @return True if <code>newVal</code> is the value after
+     * <code>oldVal</code> on the wheel of <code>spinner</code>, or the one
+     * before it if not <code>forward</code>.
+     */
+    private static boolean isAdjacentOnWheel(NumberPicker spinner, int oldVal, int newVal,
+                                             boolean forward) {
+        final ValueDomain domain = spinner.getValueDomain();
+        int adjacent;
+        if (domain != null) {
+            adjacent = forward ? domain.next(oldVal) : domain.previous(oldVal);
+        } else {
+            adjacent = forward ? oldVal + 1 : oldVal - 1;
+        }
+        if (spinner.getWrapSelectorWheel()) {
+            if (adjacent > spinner.getMaxValue()) {
+                adjacent = spinner.getMinValue();
+            } else if (adjacent < spinner.getMinValue()) {
+                adjacent = spinner.getMaxValue();
+            }
+        }
+        return newVal == adjacent;
+    }
+
+    private void restrictHourSpinner(long allowedHours) {
+        final long mask = is24HourView()
+                ? toValuesMask(allowedHours, 0, 23) : toValuesMask(allowedHours, 1, 12);
+        if (mask == mHourValuesMask) {
+            return;
+        }
+        if (mask == ALL_VALUES) {
+            updateHourControl();
+        } else {
+            mHourSpinner.setValueDomain(toValueDomain(mask));
+        }
+        mHourValuesMask = mask;
+    }
+
+    private void restrictMinuteSpinner(int hourOfDay) {
+        long minutes = ALL_VALUES;
+        if (!mDisallowedTimes.isEmpty()) {
+            final int hourStart = hourOfDay * MINUTES_PER_HOUR;
+            minutes = 0;
+            for (int minute = 0; minute < MINUTES_PER_HOUR; minute++) {
+                if (!mDisallowedTimes.contains(hourStart + minute)) {
+                    minutes |= 1L << minute;
+                }
+            }
+        }
+        final long mask = toValuesMask(minutes, 0, MINUTES_PER_HOUR - 1);
+        if (mask == mMinuteValuesMask) {
+            return;
+        }
+        if (mask == ALL_VALUES) {
+            mMinuteSpinner.configure(0, MINUTES_PER_HOUR - 1, null,
+                    NumberPicker.getTwoDigitFormatter(), true);
+        } else {
+            mMinuteSpinner.setValueDomain(toValueDomain(mask));
+        }
+        mMinuteValuesMask = mask;
+    }
+
+    private void restrictAmPmSpinner() {
+        long halves = 0;
+        if ((mAllowedHours & ((1 << HOURS_IN_HALF_DAY) - 1)) != 0) {
+            halves |= 1L << Calendar.AM;
+        }
+        if ((mAllowedHours >>> HOURS_IN_HALF_DAY) != 0) {
+            halves |= 1L << Calendar.PM;
+        }
+        final long mask = toValuesMask(halves, Calendar.AM, Calendar.PM);
+        if (mask == mAmPmValuesMask) {
+            return;
+        }
+        mAmPmValuesMask = mask;
+        if (mAmPmSpinner == null) {
+            mAmPmButton.setEnabled(mIsEnabled && mask == ALL_VALUES);
+        } else if (mask == ALL_VALUES) {
+            mAmPmSpinner.configure(Calendar.AM, Calendar.PM, mAmPmStrings, null, false);
+        } else {
+            final int half = (mask == 1L << Calendar.AM) ? Calendar.AM : Calendar.PM;
+            mAmPmSpinner.configure(half, half, new String[]{mAmPmStrings[half]}, null, false);
+        }
+    }
+
+    /**
+     * @return <code>allowed</code> limited to the bits from
+     * <code>minValue</code> to <code>maxValue</code>, or {@link #ALL_VALUES}
+     * if all or none of them are set, none are only when nothing is allowed.
+     */
+    private static long toValuesMask(long allowed, int minValue, int maxValue) {
+        final long range = (-1L >>> (63 - maxValue)) & (-1L << minValue);
+        final long mask = allowed & range;
+        return (mask == range || mask == 0) ? ALL_VALUES : mask;
+    }
+
+    private static ValueDomain toValueDomain(long mask) {
+        int[] values = new int[Long.bitCount(mask)];
+        for (int i = 0, value = 0; i < values.length; value++) {
+            if ((mask & (1L << value)) != 0) {
+                values[i++] = value;
+            }
+        }
+        return ValueDomain.of(values);
     }
 
     private void updateAmPmControl() {
+        applyAmPmControl();
+        mAccessibilityEventDispatcher.sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_SELECTED);
+    }
+
+    private void applyAmPmControl() {
         if (is24HourView()) {
             if (mAmPmSpinner != null) {
                 mAmPmSpinner.setVisibility(View.GONE);
@@ -779,38 +1536,58 @@ public class TimePicker extends FrameLayout {
                 mAmPmButton.setVisibility(View.VISIBLE);
             }
         }
-        sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_SELECTED);
     }
 
     private void onTimeChangedForEdit() {
-        sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_SELECTED);
-        if (mOnTimeChangedListener != null) {
-
-            final int currentHour = mHourSpinner.getValue();
-            int returnHour = 0;
-            if (getDisplayDateForRangeSelector(getCalendar().getTimeInMillis()).toLowerCase().contains("am")) {
-                if (currentHour == 12)
-                    returnHour = 0;
-                else
-                    returnHour = currentHour;
-            } else {
-
-                if (currentHour == 12)
-                    returnHour = 12;
-                else
-                    returnHour = currentHour + 12;
-
-
-            }
-            mOnTimeChangedListener.onTimeChanged(this, returnHour, getCurrentMinute());
+        if (mCancelingEdit) {
+            return;
         }
+        onTimeChanged();
     }
 
+    /**
+     * Notifies the listener of the current time unless it has already been
+     * notified of it. A notification requested while the listener is running,
+     * e.g. because it sets the time again, is collapsed into at most one
+     * further notification after the listener returns.
+     */
     private void onTimeChanged() {
-        sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_SELECTED);
-        if (mOnTimeChangedListener != null) {
-
-            mOnTimeChangedListener.onTimeChanged(this, getCurrentHour(), getCurrentMinute());
+        if (mInTimeChangedDispatch) {
+            mTimeChangePending = true;
+            return;
+        }
+        mInTimeChangedDispatch = true;
+        try {
+            do {
+                mTimeChangePending = false;
+                // A spinner may have moved onto a disallowed time.
+                showTime(getCurrentHour(), getCurrentMinute());
+                final int hour = getCurrentHour();
+                final int minute = getCurrentMinute();
+                final int second = getCurrentSecond();
+                final int hundredth = getCurrentHundredth();
+                final boolean minuteChanged = hour != mLastNotifiedHour
+                        || minute != mLastNotifiedMinute;
+                if (!minuteChanged && second == mLastNotifiedSecond
+                        && hundredth == mLastNotifiedHundredth) {
+                    break;
+                }
+                mLastNotifiedHour = hour;
+                mLastNotifiedMinute = minute;
+                mLastNotifiedSecond = second;
+                mLastNotifiedHundredth = hundredth;
+                mAccessibilityEventDispatcher.sendAccessibilityEvent(
+                        AccessibilityEvent.TYPE_VIEW_SELECTED);
+                if (mOnTimeChangedListener instanceof OnPreciseTimeChangedListener) {
+                    ((OnPreciseTimeChangedListener) mOnTimeChangedListener).onTimeChanged(
+                            this, hour, minute, second, hundredth);
+                } else if (mOnTimeChangedListener != null && minuteChanged) {
+                    mOnTimeChangedListener.onTimeChanged(this, hour, minute);
+                }
+            } while (mTimeChangePending);
+        } finally {
+            mInTimeChangedDispatch = false;
+            mTimeChangePending = false;
         }
     }
 
@@ -849,12 +1626,36 @@ public class TimePicker extends FrameLayout {
     }
 
     private void updateTime() {
+        applyTime(mCalendar.get(Calendar.HOUR_OF_DAY), mCalendar.get(Calendar.MINUTE));
+        if (!is24HourView()) {
+            mAccessibilityEventDispatcher.sendAccessibilityEvent(
+                    AccessibilityEvent.TYPE_VIEW_SELECTED);
+        }
+    }
 
-        mHourSpinner.setValue(mCalendar.get(Calendar.HOUR));
-        mMinuteSpinner.setValue(mCalendar.get(Calendar.MINUTE));
-        mAmPmSpinner.setValue(mCalendar.get(Calendar.AM_PM));
+    /**
+     * Shows the given time in the spinners without notifying the listener.
+     */
+    private void applyTime(int hourOfDay, int minute) {
+        showTime(hourOfDay, minute);
+        // The time was set by the client, there is nothing to notify about.
+        markTimeNotified();
     }
 
+    private void markTimeNotified() {
+        mLastNotifiedHour = getCurrentHour();
+        mLastNotifiedMinute = getCurrentMinute();
+        mLastNotifiedSecond = getCurrentSecond();
+        mLastNotifiedHundredth = getCurrentHundredth();
+    }
+
+    /**
+     * Sets the time shown by this picker without notifying the
+     * {@link OnTimeChangedListener}. This is a no-op for the spinners if the
+     * time is already shown, so it is cheap to call from the listener itself.
+     * The seconds and hundredths are shown if enabled, see
+     * {@link #setShowSeconds(boolean)} and {@link #setShowHundredths(boolean)}.
+     */
     public void setCalendar(Calendar calendar) {
         this.mCalendar.set(Calendar.HOUR_OF_DAY, calendar.get(Calendar.HOUR_OF_DAY));
         this.mCalendar.set(Calendar.MINUTE, calendar.get(Calendar.MINUTE));
@@ -864,10 +1665,87 @@ public class TimePicker extends FrameLayout {
         this.mCalendar.set(Calendar.MONTH, calendar.get(Calendar.MONTH));
         this.mCalendar.set(Calendar.YEAR, calendar.get(Calendar.YEAR));
 
-
+        showSeconds(mCalendar.get(Calendar.SECOND),
+                mCalendar.get(Calendar.MILLISECOND) / MILLIS_PER_HUNDREDTH);
+        if (mCalendar.get(Calendar.HOUR_OF_DAY) == getCurrentHour()
+                && mCalendar.get(Calendar.MINUTE) == getCurrentMinute()) {
+            markTimeNotified();
+            return;
+        }
         updateTime();
     }
 
+    /**
+     * Shows a time on a picker which is reused, e.g. in a list item. The
+     * spinners are unbound first, then the time is applied without notifying
+     * the {@link OnTimeChangedListener}, without accessibility events and
+     * without animation. A layout is only requested if switching between 12
+     * and 24 hour mode changes the width of the hour spinner.
+     *
+     * @param hourOfDay    The hour in the range (0-23).
+     * @param minute       The minute in the range (0-59).
+     * @param is24HourView Whether to show the time in 24 hour mode.
+     * @see #unbind()
+     */
+    public void bind(int hourOfDay, int minute, boolean is24HourView) {
+        unbind();
+        if (mIs24HourView != is24HourView) {
+            mIs24HourView = is24HourView;
+            updateHourControl();
+        }
+        mCalendar.set(Calendar.HOUR_OF_DAY, hourOfDay);
+        mCalendar.set(Calendar.MINUTE, minute);
+        applyTime(hourOfDay, minute);
+    }
+
+    /**
+     * Makes a picker clean for reuse: keyboard editing is left without
+     * notifying the listener, pending accessibility events are dropped and
+     * the spinners are unbound.
+     *
+     * @see NumberPicker#unbind()
+     */
+    public void unbind() {
+        cancelEditing();
+        // Drop the events first, so spinners going idle do not release them.
+        mAccessibilityEventDispatcher.cancel();
+        mHourSpinner.unbind();
+        mMinuteSpinner.unbind();
+        if (mAmPmSpinner != null) {
+            mAmPmSpinner.unbind();
+        }
+        if (mSecondSpinner != null) {
+            mSecondSpinner.unbind();
+            mHundredthSpinner.unbind();
+        }
+    }
+
+    /**
+     * Hides the edit texts and the keyboard if the time is being typed, the
+     * typed time is dropped rather than reported.
+     */
+    private void cancelEditing() {
+        if (mEditHour.getVisibility() != View.VISIBLE) {
+            return;
+        }
+        mCancelingEdit = true;
+        try {
+            mEditHour.clearFocus();
+            mEditMin.clearFocus();
+            hideKeyboard();
+            mEditHour.setVisibility(View.INVISIBLE);
+            mEditMin.setVisibility(View.INVISIBLE);
+            mMinuteSpinner.setVisibility(View.VISIBLE);
+            mHourSpinner.setVisibility(View.VISIBLE);
+        } finally {
+            mCancelingEdit = false;
+        }
+        markTimeNotified();
+        if (mEventListener != null) {
+            mEventListener.isTimeEditOpened(false);
+        }
+    }
+
     private void updateInputState() {
 
         // Make sure that if the user changes the value and the IME is active
@@ -895,24 +1773,38 @@ public class TimePicker extends FrameLayout {
         }*/
         InputMethodManager inputMethodManager =
                 (InputMethodManager) getContext().getSystemService(Context.INPUT_METHOD_SERVICE);
+        if (inputMethodManager == null) {
+            return;
+        }
+        // Runs on every minute scrolled, so only touch the inputs and the IME
+        // when there is something to undo, clearing the focus of an input
+        // relayouts and redraws the other pickers too.
+        boolean cleared = clearInputFocus(inputMethodManager, mHourSpinnerInput);
+        cleared |= clearInputFocus(inputMethodManager, mMinuteSpinnerInput);
+        cleared |= clearInputFocus(inputMethodManager, mAmPmSpinnerInput);
+        cleared |= clearInputFocus(inputMethodManager, mSecondSpinnerInput);
+        cleared |= clearInputFocus(inputMethodManager, mHundredthSpinnerInput);
+        if (cleared || inputMethodManager.isAcceptingText()) {
+            inputMethodManager.hideSoftInputFromWindow(getWindowToken(), 0);
+        }
+    }
 
-        mHourSpinnerInput.clearFocus();
-        inputMethodManager.hideSoftInputFromWindow(getWindowToken(), 0);
-
-        mMinuteSpinnerInput.clearFocus();
-        inputMethodManager.hideSoftInputFromWindow(getWindowToken(), 0);
-
-        mAmPmSpinnerInput.clearFocus();
-        inputMethodManager.hideSoftInputFromWindow(getWindowToken(), 0);
-
+    /**
+     * Clears the focus of <code>input</code> if it has the focus or the IME.
+     *
+     * @return Whether the focus was cleared.
+     */
+    private static boolean clearInputFocus(InputMethodManager inputMethodManager,
+                                           View input) {
+        if (input == null || (!input.hasFocus() && !inputMethodManager.isActive(input))) {
+            return false;
+        }
+        input.clearFocus();
+        return true;
     }
 
     public static String getDisplayDateForRangeSelector(long timeInMills) {
-
-        SimpleDateFormat sdf = new SimpleDateFormat("EEE, dd MMM yyyy, hh:mm a");
-        Calendar defaultCalendar = Calendar.getInstance();
-        defaultCalendar.setTimeInMillis(timeInMills);
-        return sdf.format(defaultCalendar.getTimeInMillis());
+        return TimeFormats.format(RANGE_SELECTOR_PATTERN, timeInMills);
     }
 
 
@@ -0,0 +1,129 @@
+package net.simonvt.numberpicker;
+
+import android.view.MotionEvent;
+
+/**
+ * Keeps the most recent vertical touch samples of a gesture, including the
+ * historical samples batched into each {@link MotionEvent}, and resamples
+ * them at an arbitrary time.
+ * <p>
+ * Between two samples the position is interpolated linearly. Past the newest
+ * sample it is extrapolated from the last two samples, up to a given limit,
+ * which makes a cheap predictor for hiding some of the touch latency.
+ * </p>
+ */
+final class TouchResampler {
+
+    /**
+     * The number of samples kept, enough for a few frames of 240 Hz input.
+     */
+    static final int CAPACITY = 16;
+
+    /**
+     * The min time between the two samples used for extrapolation, closer
+     * samples make the velocity too noisy.
+     */
+    private static final long MIN_EXTRAPOLATION_INTERVAL = 2;
+
+    private final long[] mTimes = new long[CAPACITY];
+
+    private final float[] mYs = new float[CAPACITY];
+
+    /**
+     * The index of the newest sample.
+     */
+    private int mNewest = -1;
+
+    private int mSize;
+
+    /**
+     * Drops all samples, call on each down event.
+     */
+    void reset() {
+        mNewest = -1;
+        mSize = 0;
+    }
+
+    /**
+     * @return True if there are no samples.
+     */
+    boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    /**
+     * Adds the historical samples and the current sample of <code>event</code>.
+     */
+    void addMovement(MotionEvent event) {
+        final int historySize = event.getHistorySize();
+        for (int h = 0; h < historySize; h++) {
+            add(event.getHistoricalEventTime(h), event.getHistoricalY(h));
+        }
+        add(event.getEventTime(), event.getY());
+    }
+
+    /**
+     * Adds a sample. A sample not newer than the newest one replaces it.
+     */
+    void add(long time, float y) {
+        if (mSize > 0 && time <= mTimes[mNewest]) {
+            mYs[mNewest] = y;
+            return;
+        }
+        mNewest = (mNewest + 1) % CAPACITY;
+        mTimes[mNewest] = time;
+        mYs[mNewest] = y;
+        if (mSize < CAPACITY) {
+            mSize++;
+        }
+    }
+
+    /**
+     * @param time                 The time to sample at.
+     * @param maxExtrapolationTime The max time past the newest sample to
+     *                             extrapolate over, 0 to not predict.
+     * @return The position at <code>time</code>, which must not be called
+     * without samples.
+     */
+    float getY(long time, long maxExtrapolationTime) {
+        if (mSize == 0) {
+            throw new IllegalStateException("No samples");
+        }
+        final long newestTime = mTimes[mNewest];
+        if (time >= newestTime) {
+            final long ahead = Math.min(time - newestTime, maxExtrapolationTime);
+            if (ahead <= 0) {
+                return mYs[mNewest];
+            }
+            // Use the newest sample far enough in the past for a stable velocity.
+            for (int i = 1; i < mSize; i++) {
+                final int index = indexOf(i);
+                final long interval = newestTime - mTimes[index];
+                if (interval >= MIN_EXTRAPOLATION_INTERVAL) {
+                    final float velocity = (mYs[mNewest] - mYs[index]) / interval;
+                    return mYs[mNewest] + velocity * ahead;
+                }
+            }
+            return mYs[mNewest];
+        }
+        for (int i = 1; i < mSize; i++) {
+            final int older = indexOf(i);
+            if (mTimes[older] <= time) {
+                final int newer = indexOf(i - 1);
+                final float fraction = (float) (time - mTimes[older])
+                        / (mTimes[newer] - mTimes[older]);
+                return mYs[older] + (mYs[newer] - mYs[older]) * fraction;
+            }
+        }
+        // Before the oldest sample kept.
+        return mYs[indexOf(mSize - 1)];
+    }
+
+    /**
+     * @return The buffer index of the sample <code>age</code> samples older
+     * than the newest one.
+     */
+    private int indexOf(int age) {
+        return (mNewest - age + CAPACITY) % CAPACITY;
+    }
+}
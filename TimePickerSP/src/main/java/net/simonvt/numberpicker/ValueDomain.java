@@ -0,0 +1,268 @@
+package net.simonvt.numberpicker;
+
+import java.util.Arrays;
+
+/**
+ * An immutable, sorted set of the values a {@link NumberPicker} may select.
+ * <p>
+ * A domain is either a contiguous range, a range with a fixed step, e.g.
+ * minutes in steps of 15, or an arbitrary set of values backed by a bitset.
+ * All lookups run in constant time and do not allocate.
+ * </p>
+ *
+ * @see NumberPicker#setValueDomain(ValueDomain)
+ */
+public final class ValueDomain {
+
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+
+    private final int mMinValue;
+
+    private final int mMaxValue;
+
+    private final int mStep;
+
+    private final int mSize;
+
+    /**
+     * The bitset of the values relative to {@link #mMinValue}, null if stepped.
+     */
+    private final long[] mWords;
+
+    /**
+     * The number of values in all words before each word, null if stepped.
+     */
+    private final int[] mRanks;
+
+    /**
+     * The values in ascending order, null if stepped.
+     */
+    private final int[] mValues;
+
+    private ValueDomain(int minValue, int maxValue, int step, int size,
+                        long[] words, int[] ranks, int[] values) {
+        mMinValue = minValue;
+        mMaxValue = maxValue;
+        mStep = step;
+        mSize = size;
+        mWords = words;
+        mRanks = ranks;
+        mValues = values;
+    }
+
+    /**
+     * @param minValue The min value inclusive.
+     * @param maxValue The max value inclusive.
+     * @return A domain of all values from <code>minValue</code> to <code>maxValue</code>.
+     */
+    public static ValueDomain range(int minValue, int maxValue) {
+        return stepped(minValue, maxValue, 1);
+    }
+
+    /**
+     * @param minValue The min value inclusive.
+     * @param maxValue The upper bound inclusive, it is part of the domain only
+     *                 if reachable from <code>minValue</code> in whole steps.
+     * @param step     The distance between two consecutive values.
+     * @return A domain of <code>minValue</code>, <code>minValue + step</code>, ...
+     */
+    public static ValueDomain stepped(int minValue, int maxValue, int step) {
+        if (minValue < 0) {
+            throw new IllegalArgumentException("minValue must be >= 0");
+        }
+        if (maxValue < minValue) {
+            throw new IllegalArgumentException("maxValue must be >= minValue");
+        }
+        if (step <= 0) {
+            throw new IllegalArgumentException("step must be > 0");
+        }
+        int size = (maxValue - minValue) / step + 1;
+        return new ValueDomain(minValue, minValue + (size - 1) * step, step, size,
+                null, null, null);
+    }
+
+    /**
+     * @param values The values, in any order, duplicates are ignored.
+     * @return A domain of exactly the given values.
+     */
+    public static ValueDomain of(int... values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("values must not be empty");
+        }
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        final int minValue = sorted[0];
+        final int maxValue = sorted[sorted.length - 1];
+        if (minValue < 0) {
+            throw new IllegalArgumentException("values must be >= 0");
+        }
+        long[] words = new long[((maxValue - minValue) >> ADDRESS_BITS_PER_WORD) + 1];
+        int size = 0;
+        for (int value : sorted) {
+            int offset = value - minValue;
+            long bit = 1L << offset;
+            int word = offset >> ADDRESS_BITS_PER_WORD;
+            if ((words[word] & bit) == 0) {
+                words[word] |= bit;
+                sorted[size++] = value;
+            }
+        }
+        int[] ranks = new int[words.length];
+        for (int i = 1; i < words.length; i++) {
+            ranks[i] = ranks[i - 1] + Long.bitCount(words[i - 1]);
+        }
+        return new ValueDomain(minValue, maxValue, 0, size, words, ranks,
+                Arrays.copyOf(sorted, size));
+    }
+
+    /**
+     * @return The smallest value.
+     */
+    public int getMinValue() {
+        return mMinValue;
+    }
+
+    /**
+     * @return The largest value.
+     */
+    public int getMaxValue() {
+        return mMaxValue;
+    }
+
+    /**
+     * @return The number of values.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * @return True if <code>value</code> is part of this domain.
+     */
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * @return The position of <code>value</code> in ascending order, or -1 if
+     * it is not part of this domain.
+     */
+    public int indexOf(int value) {
+        if (value < mMinValue || value > mMaxValue) {
+            return -1;
+        }
+        final int offset = value - mMinValue;
+        if (mWords == null) {
+            return offset % mStep == 0 ? offset / mStep : -1;
+        }
+        final int word = offset >> ADDRESS_BITS_PER_WORD;
+        final long bit = 1L << offset;
+        if ((mWords[word] & bit) == 0) {
+            return -1;
+        }
+        return mRanks[word] + Long.bitCount(mWords[word] & (bit - 1));
+    }
+
+    /**
+     * @param index The position in ascending order.
+     * @return The value at <code>index</code>.
+     */
+    public int valueAt(int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + mSize);
+        }
+        return (mValues == null) ? mMinValue + index * mStep : mValues[index];
+    }
+
+    /**
+     * @return The smallest value greater than <code>value</code>, or
+     * <code>value + 1</code> if there is none.
+     */
+    public int next(int value) {
+        if (value < mMinValue) {
+            return mMinValue;
+        }
+        if (value >= mMaxValue) {
+            return value + 1;
+        }
+        return valueAt(countNotGreaterThan(value));
+    }
+
+    /**
+     * @return The largest value less than <code>value</code>, or
+     * <code>value - 1</code> if there is none.
+     */
+    public int previous(int value) {
+        if (value > mMaxValue) {
+            return mMaxValue;
+        }
+        if (value <= mMinValue) {
+            return value - 1;
+        }
+        return valueAt(countNotGreaterThan(value - 1) - 1);
+    }
+
+    /**
+     * @return The value closest to <code>value</code>, the smaller one on a tie.
+     */
+    public int nearest(int value) {
+        if (value <= mMinValue) {
+            return mMinValue;
+        }
+        if (value >= mMaxValue) {
+            return mMaxValue;
+        }
+        final int count = countNotGreaterThan(value);
+        final int below = valueAt(count - 1);
+        if (below == value) {
+            return value;
+        }
+        final int above = valueAt(count);
+        return (value - below <= above - value) ? below : above;
+    }
+
+    /**
+     * @return The number of values less than or equal to <code>value</code>,
+     * which must be in the range of this domain.
+     */
+    private int countNotGreaterThan(int value) {
+        final int offset = value - mMinValue;
+        if (mWords == null) {
+            return offset / mStep + 1;
+        }
+        final int word = offset >> ADDRESS_BITS_PER_WORD;
+        // All bits up to and including the bit of the offset
+        final long mask = -1L >>> (63 - (offset & 63));
+        return mRanks[word] + Long.bitCount(mWords[word] & mask);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ValueDomain)) {
+            return false;
+        }
+        ValueDomain other = (ValueDomain) o;
+        if (mSize != other.mSize || mMinValue != other.mMinValue
+                || mMaxValue != other.mMaxValue) {
+            return false;
+        }
+        for (int i = 0; i < mSize; i++) {
+            if (valueAt(i) != other.valueAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = mSize;
+        for (int i = 0; i < mSize; i++) {
+            result = 31 * result + valueAt(i);
+        }
+        return result;
+    }
+}
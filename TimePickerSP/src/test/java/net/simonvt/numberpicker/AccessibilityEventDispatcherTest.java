@@ -0,0 +1,185 @@
+package net.simonvt.numberpicker;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.InputDevice;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityManager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.util.Scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+public class AccessibilityEventDispatcherTest {
+
+    private Context mContext;
+
+    private Activity mActivity;
+
+    private Scheduler mScheduler;
+
+    private RecordingView mView;
+
+    private AccessibilityEventDispatcher mDispatcher;
+
+    @Before
+    public void setUp() {
+        mContext = new ContextThemeWrapper(RuntimeEnvironment.application,
+                R.style.NPWidget_Holo_NumberPicker);
+        mActivity = Robolectric.setupActivity(Activity.class);
+        mScheduler = Robolectric.getForegroundThreadScheduler();
+        mView = new RecordingView(mContext);
+        // The delayed sends are only run once the view is attached to a window.
+        mActivity.setContentView(mView);
+        mDispatcher = new AccessibilityEventDispatcher(mView);
+        setAccessibilityEnabled(true);
+    }
+
+    @Test
+    public void sendsAtMostOnceEveryMinInterval() {
+        mDispatcher.sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_SELECTED);
+        assertEquals(1, mView.mSent.size());
+        mDispatcher.sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_SELECTED);
+        mScheduler.advanceBy(AccessibilityEventDispatcher.MIN_INTERVAL_MILLIS - 1);
+        assertEquals(1, mView.mSent.size());
+        mScheduler.advanceBy(1);
+        assertEquals(2, mView.mSent.size());
+        mScheduler.advanceBy(AccessibilityEventDispatcher.MIN_INTERVAL_MILLIS);
+        mDispatcher.sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_SELECTED);
+        assertEquals(3, mView.mSent.size());
+    }
+
+    @Test
+    public void coalescesEventsByType() {
+        mDispatcher.sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_SELECTED);
+        for (int i = 0; i < 10; i++) {
+            mDispatcher.sendAccessibilityEvent(AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED);
+            mDispatcher.sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_SELECTED);
+            mScheduler.advanceBy(5);
+        }
+        mScheduler.advanceBy(AccessibilityEventDispatcher.MIN_INTERVAL_MILLIS);
+        assertEquals(Arrays.asList(AccessibilityEvent.TYPE_VIEW_SELECTED,
+                AccessibilityEvent.TYPE_VIEW_SELECTED,
+                AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED), mView.mSent);
+    }
+
+    @Test
+    public void holdsEventsUntilReleased() {
+        mDispatcher.setHeld(true);
+        mDispatcher.sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_SELECTED);
+        mDispatcher.sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_SELECTED);
+        mScheduler.advanceBy(10 * AccessibilityEventDispatcher.MIN_INTERVAL_MILLIS);
+        assertEquals(0, mView.mSent.size());
+        mDispatcher.setHeld(false);
+        assertEquals(Arrays.asList(AccessibilityEvent.TYPE_VIEW_SELECTED), mView.mSent);
+    }
+
+    @Test
+    public void cancelDropsPendingEvents() {
+        mDispatcher.sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_SELECTED);
+        mDispatcher.sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_SELECTED);
+        mDispatcher.cancel();
+        mScheduler.advanceBy(AccessibilityEventDispatcher.MIN_INTERVAL_MILLIS);
+        assertEquals(1, mView.mSent.size());
+    }
+
+    @Test
+    public void sendsNothingWhileAccessibilityIsDisabled() {
+        setAccessibilityEnabled(false);
+        mDispatcher.sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_SELECTED);
+        mScheduler.advanceBy(AccessibilityEventDispatcher.MIN_INTERVAL_MILLIS);
+        assertEquals(0, mView.mSent.size());
+    }
+
+    @Test
+    public void timePickerAnnouncesOnlyTheMinuteASpinnerScrollEndsOn() {
+        setAccessibilityEnabled(false);
+        RecordingTimePicker timePicker = new RecordingTimePicker(mContext);
+        mActivity.setContentView(timePicker);
+        timePicker.measure(View.MeasureSpec.makeMeasureSpec(720, View.MeasureSpec.AT_MOST),
+                View.MeasureSpec.makeMeasureSpec(600, View.MeasureSpec.AT_MOST));
+        timePicker.layout(0, 0, timePicker.getMeasuredWidth(), timePicker.getMeasuredHeight());
+        timePicker.setIs24HourView(true);
+        timePicker.setCurrentHour(10);
+        timePicker.setCurrentMinute(0);
+        mScheduler.advanceBy(AccessibilityEventDispatcher.MIN_INTERVAL_MILLIS);
+        setAccessibilityEnabled(true);
+
+        NumberPicker minuteSpinner = (NumberPicker) timePicker.findViewById(R.id.minute);
+        for (int i = 0; i < 5; i++) {
+            scrollOneNotchDown(minuteSpinner);
+            mScheduler.advanceBy(GestureReplay.FRAME_MILLIS);
+        }
+        assertEquals(5, (int) timePicker.getCurrentMinute());
+        assertEquals(0, timePicker.mSentMinutes.size());
+        // The wheel settles once the notches stop.
+        mScheduler.advanceBy(10 * AccessibilityEventDispatcher.MIN_INTERVAL_MILLIS);
+        assertEquals(Arrays.asList(5), timePicker.mSentMinutes);
+    }
+
+    private void setAccessibilityEnabled(boolean enabled) {
+        shadowOf((AccessibilityManager) mContext.getSystemService(
+                Context.ACCESSIBILITY_SERVICE)).setEnabled(enabled);
+    }
+
+    /**
+     * Scrolls <code>picker</code> by one value with a mouse wheel.
+     */
+    private void scrollOneNotchDown(NumberPicker picker) {
+        final long now = mScheduler.getCurrentTime();
+        MotionEvent.PointerProperties[] properties = {new MotionEvent.PointerProperties()};
+        properties[0].toolType = MotionEvent.TOOL_TYPE_MOUSE;
+        MotionEvent.PointerCoords[] coords = {new MotionEvent.PointerCoords()};
+        coords[0].setAxisValue(MotionEvent.AXIS_VSCROLL, -1);
+        MotionEvent event = MotionEvent.obtain(now, now, MotionEvent.ACTION_SCROLL, 1,
+                properties, coords, 0, 0, 1, 1, 0, 0, InputDevice.SOURCE_MOUSE, 0);
+        picker.onGenericMotionEvent(event);
+        event.recycle();
+    }
+
+    private static class RecordingView extends View {
+        final List<Integer> mSent = new ArrayList<Integer>();
+
+        RecordingView(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void sendAccessibilityEvent(int eventType) {
+            mSent.add(eventType);
+        }
+    }
+
+    private static class RecordingTimePicker extends TimePicker {
+        /**
+         * The minute at the time of each selection event.
+         */
+        final List<Integer> mSentMinutes = new ArrayList<Integer>();
+
+        RecordingTimePicker(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void sendAccessibilityEvent(int eventType) {
+            if (eventType == AccessibilityEvent.TYPE_VIEW_SELECTED) {
+                mSentMinutes.add(getCurrentMinute());
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package net.simonvt.numberpicker;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CylinderProjectionTest {
+
+    private static final float DELTA = 1e-4f;
+
+    private static final int ITEMS = 3;
+
+    private static final int ELEMENT_HEIGHT = 100;
+
+    @Test
+    public void middleItemIsNotProjected() {
+        CylinderProjection projection = newProjection();
+        assertEquals(0, projection.getOffset(0), DELTA);
+        assertEquals(1, projection.getScale(0), DELTA);
+        assertEquals(CylinderProjection.ALPHA_BUCKETS - 1, projection.getAlphaBucket(0));
+    }
+
+    @Test
+    public void itemsMoveSlowerShrinkAndFadeAwayFromTheMiddle() {
+        CylinderProjection projection = newProjection();
+        float previousScale = 1;
+        int previousBucket = CylinderProjection.ALPHA_BUCKETS - 1;
+        for (int distance = 1; distance <= ITEMS * ELEMENT_HEIGHT / 2; distance++) {
+            assertTrue(distance + projection.getOffset(distance) <= distance);
+            assertTrue(projection.getScale(distance) < previousScale);
+            assertTrue(projection.getAlphaBucket(distance) <= previousBucket);
+            previousScale = projection.getScale(distance);
+            previousBucket = projection.getAlphaBucket(distance);
+        }
+    }
+
+    @Test
+    public void isSymmetric() {
+        CylinderProjection projection = newProjection();
+        for (int distance = 0; distance <= ITEMS * ELEMENT_HEIGHT / 2; distance++) {
+            assertEquals(-projection.getOffset(distance), projection.getOffset(-distance), DELTA);
+            assertEquals(projection.getScale(distance), projection.getScale(-distance), DELTA);
+            assertEquals(projection.getAlphaBucket(distance),
+                    projection.getAlphaBucket(-distance));
+        }
+    }
+
+    @Test
+    public void neighboursAreAtASixthOfATurn() {
+        CylinderProjection projection = newProjection();
+        // Three items on half a turn puts the neighbours at 60 degrees.
+        final double radius = ITEMS * ELEMENT_HEIGHT / Math.PI;
+        assertEquals(radius * Math.sin(Math.PI / 3),
+                ELEMENT_HEIGHT + projection.getOffset(ELEMENT_HEIGHT), 1e-3);
+        assertEquals(0.5, projection.getScale(ELEMENT_HEIGHT), 1e-3);
+    }
+
+    @Test
+    public void itemsBeyondHalfATurnAreHidden() {
+        CylinderProjection projection = newProjection();
+        final int edge = ITEMS * ELEMENT_HEIGHT / 2;
+        assertEquals(0, projection.getAlphaBucket(edge));
+        assertEquals(0, projection.getAlphaBucket(edge + 1));
+        assertEquals(0, projection.getAlphaBucket(-edge - ELEMENT_HEIGHT));
+        assertEquals(0, projection.getScale(edge + ELEMENT_HEIGHT), DELTA);
+    }
+
+    @Test
+    public void followsTheElementHeight() {
+        CylinderProjection projection = newProjection();
+        final float offset = projection.getOffset(ELEMENT_HEIGHT);
+        projection.setElementHeight(2 * ELEMENT_HEIGHT);
+        assertEquals(2 * offset, projection.getOffset(2 * ELEMENT_HEIGHT), 1e-2);
+        assertEquals(0.5, projection.getScale(2 * ELEMENT_HEIGHT), 1e-3);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void failsWithoutElementHeight() {
+        new CylinderProjection(ITEMS).getOffset(0);
+    }
+
+    private static CylinderProjection newProjection() {
+        CylinderProjection projection = new CylinderProjection(ITEMS);
+        projection.setElementHeight(ELEMENT_HEIGHT);
+        return projection;
+    }
+}
@@ -0,0 +1,244 @@
+package net.simonvt.numberpicker;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+import android.os.SystemClock;
+import android.view.ContextThemeWrapper;
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class DrawBudgetTest {
+
+    /**
+     * The number of items on the selector wheel.
+     */
+    private static final int SELECTOR_ITEMS = 3;
+
+    /**
+     * The selector wheel draws at most one text per item.
+     */
+    private static final int WHEEL_TEXT_BUDGET = SELECTOR_ITEMS;
+
+    /**
+     * The two dividers and the two pressed virtual buttons.
+     */
+    private static final int WHEEL_SHAPE_BUDGET = 4;
+
+    /**
+     * A whole picker: the wheel, the input text and the two fading edges.
+     */
+    private static final int PICKER_DRAW_BUDGET = 12;
+
+    private static final int PICKER_SAVE_BUDGET = 8;
+
+    /**
+     * Three pickers and the hour separator.
+     */
+    private static final int TIME_PICKER_DRAW_BUDGET = 3 * PICKER_DRAW_BUDGET + 4;
+
+    private static final int TIME_PICKER_SAVE_BUDGET = 3 * PICKER_SAVE_BUDGET + 8;
+
+    /**
+     * The number of offsets drawn per element height.
+     */
+    private static final int OFFSETS_PER_ELEMENT = 8;
+
+    private Context mContext;
+
+    private final RecordingCanvas mCanvas = new RecordingCanvas();
+
+    @Before
+    public void setUp() {
+        mContext = new ContextThemeWrapper(RuntimeEnvironment.application,
+                R.style.NPWidget_Holo_NumberPicker);
+    }
+
+    @Test
+    public void wheelStaysWithinBudgetWhileScrolling() {
+        NumberPicker picker = newPicker();
+        final int step = Math.max(1, picker.getHeight()
+                / (SELECTOR_ITEMS * OFFSETS_PER_ELEMENT));
+        for (int i = 0; i < 2 * SELECTOR_ITEMS * OFFSETS_PER_ELEMENT; i++) {
+            mCanvas.reset();
+            picker.onDraw(mCanvas);
+            final String at = "offset " + i * step + ": " + mCanvas.getOps();
+            assertTrue(at, mCanvas.getTextCount() <= WHEEL_TEXT_BUDGET);
+            assertTrue(at, mCanvas.getDrawCount() - mCanvas.getTextCount()
+                    <= WHEEL_SHAPE_BUDGET);
+            assertEquals(at, 0, mCanvas.getSaveCalls());
+            picker.scrollBy(0, -step);
+        }
+    }
+
+    @Test
+    public void cylinderStaysWithinBudgetWhileScrolling() {
+        NumberPicker picker = newPicker();
+        picker.setCylinderProjection(true);
+        final int step = Math.max(1, picker.getHeight()
+                / (SELECTOR_ITEMS * OFFSETS_PER_ELEMENT));
+        for (int i = 0; i < 2 * SELECTOR_ITEMS * OFFSETS_PER_ELEMENT; i++) {
+            mCanvas.reset();
+            picker.onDraw(mCanvas);
+            final String at = "offset " + i * step + ": " + mCanvas.getOps();
+            assertTrue(at, mCanvas.getTextCount() <= WHEEL_TEXT_BUDGET);
+            assertTrue(at, mCanvas.getDrawCount() - mCanvas.getTextCount()
+                    <= WHEEL_SHAPE_BUDGET);
+            assertTrue(at, mCanvas.getSaveCalls() <= WHEEL_TEXT_BUDGET);
+            assertEquals(at, mCanvas.getSaveCalls(), mCanvas.getRestoreCalls());
+            picker.scrollBy(0, -step);
+        }
+        mCanvas.reset();
+        picker.draw(mCanvas);
+        assertWithinBudget("cylinder", PICKER_DRAW_BUDGET, PICKER_SAVE_BUDGET);
+    }
+
+    @Test
+    public void pickerStaysWithinBudgetWhileScrolling() {
+        NumberPicker picker = newPicker();
+        final int step = Math.max(1, picker.getHeight()
+                / (SELECTOR_ITEMS * OFFSETS_PER_ELEMENT));
+        for (int i = 0; i < 2 * SELECTOR_ITEMS * OFFSETS_PER_ELEMENT; i++) {
+            mCanvas.reset();
+            picker.draw(mCanvas);
+            assertWithinBudget("offset " + i * step, PICKER_DRAW_BUDGET, PICKER_SAVE_BUDGET);
+            picker.scrollBy(0, step);
+        }
+    }
+
+    @Test
+    public void scrollingPickerDrawsFadingEdgesWithoutLayers() {
+        NumberPicker picker = newPicker();
+        mCanvas.reset();
+        picker.draw(mCanvas);
+        final int idleSaves = mCanvas.getSaveCalls();
+        final long downTime = SystemClock.uptimeMillis();
+        final float x = picker.getWidth() / 2;
+        final float y = picker.getHeight() / 2;
+        MotionEvent down = MotionEvent.obtain(downTime, downTime, MotionEvent.ACTION_DOWN,
+                x, y, 0);
+        picker.onInterceptTouchEvent(down);
+        picker.onTouchEvent(down);
+        down.recycle();
+        final int step = picker.getHeight() / SELECTOR_ITEMS / 2;
+        for (int i = 1; i <= 2 * SELECTOR_ITEMS; i++) {
+            MotionEvent move = MotionEvent.obtain(downTime, downTime + i * 16,
+                    MotionEvent.ACTION_MOVE, x, y - i * step, 0);
+            picker.onTouchEvent(move);
+            move.recycle();
+            mCanvas.reset();
+            picker.draw(mCanvas);
+            assertWithinBudget("move " + i, PICKER_DRAW_BUDGET, PICKER_SAVE_BUDGET);
+            assertTrue(mCanvas.getOps(), mCanvas.getSaveCalls() < idleSaves);
+        }
+    }
+
+    @Test
+    public void amPmPickerStaysWithinBudget() {
+        NumberPicker picker = new NumberPickerAMPM(mContext);
+        picker.setMinValue(0);
+        picker.setMaxValue(1);
+        picker.setDisplayedValues(new String[]{"AM", "PM"});
+        layout(picker, 200, 400);
+        mCanvas.reset();
+        picker.draw(mCanvas);
+        assertWithinBudget("am/pm", PICKER_DRAW_BUDGET, PICKER_SAVE_BUDGET);
+    }
+
+    @Test
+    public void timePickerStaysWithinBudget() {
+        TimePicker timePicker = new TimePicker(mContext);
+        timePicker.setIs24HourView(false);
+        timePicker.setCurrentHour(13);
+        timePicker.setCurrentMinute(45);
+        layout(timePicker, 720, 600);
+        mCanvas.reset();
+        timePicker.draw(mCanvas);
+        assertWithinBudget("time picker", TIME_PICKER_DRAW_BUDGET, TIME_PICKER_SAVE_BUDGET);
+    }
+
+    @Test
+    public void opaqueTimePickerStaysWithinBudget() {
+        TimePicker timePicker = new TimePicker(mContext);
+        timePicker.setIs24HourView(false);
+        timePicker.setOpaqueBackgroundColor(Color.WHITE);
+        layout(timePicker, 720, 600);
+        assertTrue(timePicker.isOpaque());
+        NumberPicker minute = timePicker.findViewById(R.id.minute);
+        assertTrue(minute.isOpaque());
+        mCanvas.reset();
+        timePicker.draw(mCanvas);
+        assertWithinBudget("opaque time picker", TIME_PICKER_DRAW_BUDGET,
+                TIME_PICKER_SAVE_BUDGET);
+
+        timePicker.setOpaqueBackgroundColor(Color.TRANSPARENT);
+        assertFalse(timePicker.isOpaque());
+        assertFalse(minute.isOpaque());
+    }
+
+    @Test
+    public void opaquePickerDrawsFadingEdgesWithoutLayers() {
+        NumberPicker picker = newPicker();
+        mCanvas.reset();
+        picker.draw(mCanvas);
+        final int translucentSaves = mCanvas.getSaveCalls();
+        picker.setOpaqueBackgroundColor(Color.BLACK);
+        mCanvas.reset();
+        picker.draw(mCanvas);
+        assertWithinBudget("opaque", PICKER_DRAW_BUDGET, PICKER_SAVE_BUDGET);
+        assertTrue(mCanvas.getOps(), mCanvas.getSaveCalls() < translucentSaves);
+    }
+
+    @Test
+    public void leavingOpaqueModeRestoresTheBackground() {
+        NumberPicker picker = newPicker();
+        ColorDrawable background = new ColorDrawable(Color.RED);
+        picker.setBackground(background);
+        picker.setOpaqueBackgroundColor(Color.BLACK);
+        picker.setOpaqueBackgroundColor(Color.WHITE);
+        picker.setOpaqueBackgroundColor(Color.TRANSPARENT);
+        assertSame(background, picker.getBackground());
+        assertEquals(Color.RED, background.getColor());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void opaqueModeRejectsTranslucentColors() {
+        newPicker().setOpaqueBackgroundColor(0x80FFFFFF);
+    }
+
+    private NumberPicker newPicker() {
+        NumberPicker picker = new NumberPicker(mContext);
+        picker.setMinValue(0);
+        picker.setMaxValue(59);
+        picker.setValue(30);
+        layout(picker, 200, 400);
+        return picker;
+    }
+
+    private static void layout(View view, int maxWidth, int maxHeight) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(maxWidth, View.MeasureSpec.AT_MOST),
+                View.MeasureSpec.makeMeasureSpec(maxHeight, View.MeasureSpec.AT_MOST));
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+    }
+
+    private void assertWithinBudget(String name, int drawBudget, int saveBudget) {
+        final String at = name + ": " + mCanvas.getOps();
+        assertTrue(at, mCanvas.getDrawCount() > 0);
+        assertTrue(at, mCanvas.getDrawCount() <= drawBudget);
+        assertTrue(at, mCanvas.getSaveCalls() <= saveBudget);
+        assertEquals(at, mCanvas.getSaveCalls(), mCanvas.getRestoreCalls());
+        assertEquals(at, 1, mCanvas.getSaveCount());
+    }
+}
@@ -0,0 +1,167 @@
+package net.simonvt.numberpicker;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.MotionEvent;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class FlingReplayTest {
+
+    /**
+     * The time between two move events of a synthetic gesture.
+     */
+    private static final long MOVE_INTERVAL = 16;
+
+    /**
+     * The number of historical samples batched into each move event.
+     */
+    private static final int SAMPLES_PER_MOVE = 3;
+
+    private Context mContext;
+
+    @Before
+    public void setUp() {
+        mContext = new ContextThemeWrapper(RuntimeEnvironment.application,
+                R.style.NPWidget_Holo_NumberPicker);
+    }
+
+    @Test
+    public void recordingRestoresEventsWithHistory() throws IOException {
+        byte[] recording = recordDrag(100, 300, 50, 160);
+        List<MotionEvent> events = MotionEventRecorder.read(
+                new ByteArrayInputStream(recording), 5000);
+        try {
+            assertEquals(MotionEvent.ACTION_DOWN, events.get(0).getActionMasked());
+            assertEquals(MotionEvent.ACTION_UP, events.get(events.size() - 1).getActionMasked());
+            assertEquals(5000, events.get(0).getDownTime());
+            assertEquals(5000, events.get(0).getEventTime());
+            MotionEvent move = events.get(1);
+            assertEquals(MotionEvent.ACTION_MOVE, move.getActionMasked());
+            assertEquals(SAMPLES_PER_MOVE - 1, move.getHistorySize());
+            assertEquals(5000 + MOVE_INTERVAL, move.getEventTime());
+            assertTrue(move.getHistoricalEventTime(0) < move.getEventTime());
+            assertTrue(move.getHistoricalY(0) > move.getY());
+            assertEquals(100, move.getX(), 0);
+            long previousTime = 0;
+            for (MotionEvent event : events) {
+                assertTrue(event.getEventTime() >= previousTime);
+                previousTime = event.getEventTime();
+            }
+        } finally {
+            for (MotionEvent event : events) {
+                event.recycle();
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherData() throws IOException {
+        MotionEventRecorder.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5}), 0);
+    }
+
+    @Test
+    public void replayIsDeterministic() throws IOException {
+        NumberPicker picker = newPicker();
+        byte[] recording = recordDrag(100, picker.getHeight() * 3 / 4,
+                picker.getHeight() / 4, 80);
+        GestureReplay.Report first = new GestureReplay().replay(picker, recording);
+        NumberPicker other = newPicker();
+        GestureReplay.Report second = new GestureReplay().replay(other, recording);
+        assertEquals(first.toString(), first.framesToSettle, second.framesToSettle);
+        assertEquals(first.toString(), first.valuesCrossed, second.valuesCrossed);
+        assertEquals(first.toString(), first.scrollStateCallbacks,
+                second.scrollStateCallbacks);
+        assertEquals(first.toString(), first.finalValue, second.finalValue);
+    }
+
+    @Test
+    public void flingSettlesOnAValue() throws IOException {
+        NumberPicker picker = newPicker();
+        byte[] recording = recordDrag(100, picker.getHeight() * 3 / 4,
+                picker.getHeight() / 4, 80);
+        GestureReplay.Report report = new GestureReplay().replay(picker, recording);
+        assertTrue(report.toString(), report.framesToSettle < GestureReplay.MAX_SETTLE_FRAMES);
+        assertTrue(report.toString(), report.valuesCrossed > 0);
+        assertNotEquals(report.toString(), report.startValue, report.finalValue);
+        assertEquals(report.toString(), NumberPicker.OnScrollListener.SCROLL_STATE_IDLE,
+                report.lastScrollState);
+    }
+
+    @Test
+    public void upwardsFlingIncrementsAndDownwardsFlingDecrements() throws IOException {
+        NumberPicker picker = newPicker();
+        final int start = picker.getValue();
+        new GestureReplay().replay(picker, recordDrag(100, picker.getHeight() * 3 / 4,
+                picker.getHeight() / 4, 80));
+        assertTrue(picker.getValue() > start);
+        NumberPicker other = newPicker();
+        new GestureReplay().replay(other, recordDrag(100, other.getHeight() / 4,
+                other.getHeight() * 3 / 4, 80));
+        assertTrue(other.getValue() < start);
+    }
+
+    private NumberPicker newPicker() {
+        NumberPicker picker = new NumberPicker(mContext);
+        picker.setMinValue(0);
+        picker.setMaxValue(59);
+        picker.setWrapSelectorWheel(false);
+        picker.setValue(30);
+        FrameLayout parent = new FrameLayout(mContext);
+        parent.addView(picker);
+        parent.measure(View.MeasureSpec.makeMeasureSpec(200, View.MeasureSpec.AT_MOST),
+                View.MeasureSpec.makeMeasureSpec(400, View.MeasureSpec.AT_MOST));
+        parent.layout(0, 0, parent.getMeasuredWidth(), parent.getMeasuredHeight());
+        return picker;
+    }
+
+    /**
+     * Records a straight vertical drag at constant speed which is released
+     * while still moving.
+     */
+    private static byte[] recordDrag(float x, float fromY, float toY, long duration) {
+        MotionEventRecorder recorder = new MotionEventRecorder();
+        final long downTime = 1000;
+        MotionEvent down = MotionEvent.obtain(downTime, downTime, MotionEvent.ACTION_DOWN,
+                x, fromY, 0);
+        recorder.record(down);
+        down.recycle();
+        final int moves = (int) (duration / MOVE_INTERVAL);
+        final long sampleInterval = MOVE_INTERVAL / SAMPLES_PER_MOVE;
+        float y = fromY;
+        for (int m = 1; m <= moves; m++) {
+            MotionEvent move = null;
+            for (int s = SAMPLES_PER_MOVE - 1; s >= 0; s--) {
+                final long time = downTime + m * MOVE_INTERVAL - s * sampleInterval;
+                y = fromY + (toY - fromY) * (time - downTime) / duration;
+                if (move == null) {
+                    move = MotionEvent.obtain(downTime, time, MotionEvent.ACTION_MOVE, x, y, 0);
+                } else {
+                    move.addBatch(time, x, y, 1, 1, 0);
+                }
+            }
+            recorder.record(move);
+            move.recycle();
+        }
+        MotionEvent up = MotionEvent.obtain(downTime, downTime + moves * MOVE_INTERVAL + 1,
+                MotionEvent.ACTION_UP, x, y, 0);
+        recorder.record(up);
+        up.recycle();
+        return recorder.toByteArray();
+    }
+}
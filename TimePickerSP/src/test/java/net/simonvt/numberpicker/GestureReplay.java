@@ -0,0 +1,175 @@
+package net.simonvt.numberpicker;
+
+import android.view.MotionEvent;
+
+import org.robolectric.Robolectric;
+import org.robolectric.util.Scheduler;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Replays a recorded gesture through a {@link NumberPicker} on the clock of
+ * the Robolectric scheduler, rendering one frame per {@link #FRAME_MILLIS},
+ * and reports how the picker responded.
+ * <p>
+ * Events are fed the way the view hierarchy does once the picker is the
+ * touch target: down events are offered to
+ * {@link NumberPicker#onInterceptTouchEvent(MotionEvent)} and all events go
+ * to {@link NumberPicker#onTouchEvent(MotionEvent)}.
+ * </p>
+ */
+class GestureReplay {
+
+    static final long FRAME_MILLIS = 16;
+
+    /**
+     * The max number of frames rendered after the last event.
+     */
+    static final int MAX_SETTLE_FRAMES = 600;
+
+    /**
+     * What the picker did during a replay.
+     */
+    static class Report {
+        /**
+         * The frames rendered after the last event until the wheel stood still,
+         * or {@link #MAX_SETTLE_FRAMES} if it did not.
+         */
+        int framesToSettle;
+
+        /**
+         * The number of values the wheel moved through, one per value change
+         * callback.
+         */
+        int valuesCrossed;
+
+        /**
+         * The number of scroll state callbacks.
+         */
+        int scrollStateCallbacks;
+
+        int lastScrollState = NumberPicker.OnScrollListener.SCROLL_STATE_IDLE;
+
+        int startValue;
+
+        int finalValue;
+
+        /**
+         * The time of each frame spent in computeScroll and draw.
+         */
+        long[] frameNanos = new long[0];
+
+        int frameCount;
+
+        long getMaxFrameNanos() {
+            long max = 0;
+            for (int i = 0; i < frameCount; i++) {
+                max = Math.max(max, frameNanos[i]);
+            }
+            return max;
+        }
+
+        long getMeanFrameNanos() {
+            long sum = 0;
+            for (int i = 0; i < frameCount; i++) {
+                sum += frameNanos[i];
+            }
+            return (frameCount == 0) ? 0 : sum / frameCount;
+        }
+
+        private void addFrame(long nanos) {
+            if (frameCount == frameNanos.length) {
+                frameNanos = Arrays.copyOf(frameNanos, Math.max(16, 2 * frameCount));
+            }
+            frameNanos[frameCount++] = nanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Report{framesToSettle=" + framesToSettle
+                    + ", valuesCrossed=" + valuesCrossed
+                    + ", scrollStateCallbacks=" + scrollStateCallbacks
+                    + ", value=" + startValue + "->" + finalValue
+                    + ", frames=" + frameCount
+                    + ", meanFrameNanos=" + getMeanFrameNanos()
+                    + ", maxFrameNanos=" + getMaxFrameNanos() + "}";
+        }
+    }
+
+    private final RecordingCanvas mCanvas = new RecordingCanvas();
+
+    /**
+     * Replays <code>recording</code>, which starts at the current time of the
+     * scheduler, through <code>picker</code>, which must be laid out and have
+     * a parent.
+     */
+    Report replay(NumberPicker picker, byte[] recording) throws IOException {
+        final Scheduler scheduler = Robolectric.getForegroundThreadScheduler();
+        final long start = scheduler.getCurrentTime();
+        final List<MotionEvent> events = MotionEventRecorder.read(
+                new ByteArrayInputStream(recording), start);
+        final Report report = new Report();
+        report.startValue = picker.getValue();
+        picker.setOnValueChangedListener(new NumberPicker.OnValueChangeListener() {
+            @Override
+            public void onValueChange(NumberPicker picker, int oldVal, int newVal) {
+                report.valuesCrossed++;
+            }
+        });
+        picker.setOnScrollListener(new NumberPicker.OnScrollListener() {
+            @Override
+            public void onScrollStateChange(NumberPicker view, int scrollState) {
+                report.scrollStateCallbacks++;
+                report.lastScrollState = scrollState;
+            }
+        });
+        long frameTime = start;
+        try {
+            for (MotionEvent event : events) {
+                while (frameTime + FRAME_MILLIS <= event.getEventTime()) {
+                    frameTime += FRAME_MILLIS;
+                    renderFrame(picker, scheduler, frameTime, report);
+                }
+                scheduler.advanceTo(event.getEventTime());
+                if (event.getActionMasked() == MotionEvent.ACTION_DOWN) {
+                    picker.onInterceptTouchEvent(event);
+                }
+                picker.onTouchEvent(event);
+            }
+        } finally {
+            for (MotionEvent event : events) {
+                event.recycle();
+            }
+        }
+        report.framesToSettle = MAX_SETTLE_FRAMES;
+        for (int frame = 1; frame <= MAX_SETTLE_FRAMES; frame++) {
+            frameTime += FRAME_MILLIS;
+            final boolean moved = renderFrame(picker, scheduler, frameTime, report);
+            if (!moved && report.lastScrollState
+                    == NumberPicker.OnScrollListener.SCROLL_STATE_IDLE) {
+                report.framesToSettle = frame;
+                break;
+            }
+        }
+        report.finalValue = picker.getValue();
+        return report;
+    }
+
+    /**
+     * @return True if the picker asked to be drawn again.
+     */
+    private boolean renderFrame(NumberPicker picker, Scheduler scheduler, long frameTime,
+                                Report report) {
+        scheduler.advanceTo(frameTime);
+        final long begin = System.nanoTime();
+        picker.computeScroll();
+        final boolean dirty = picker.isDirty();
+        mCanvas.reset();
+        picker.draw(mCanvas);
+        report.addFrame(System.nanoTime() - begin);
+        return dirty;
+    }
+}
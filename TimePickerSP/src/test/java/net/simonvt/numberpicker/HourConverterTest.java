@@ -0,0 +1,57 @@
+package net.simonvt.numberpicker;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks {@link HourConverter} against {@link Calendar} for every minute of the day.
+ */
+public class HourConverterTest {
+
+    private static final int MINUTES_IN_DAY = 24 * 60;
+
+    @Test
+    public void matchesCalendarForEveryMinuteOfTheDay() {
+        Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        calendar.clear();
+        calendar.set(2018, Calendar.JANUARY, 1);
+        for (int minuteOfDay = 0; minuteOfDay < MINUTES_IN_DAY; minuteOfDay++) {
+            calendar.set(Calendar.HOUR_OF_DAY, minuteOfDay / 60);
+            calendar.set(Calendar.MINUTE, minuteOfDay % 60);
+
+            int hourOfDay = calendar.get(Calendar.HOUR_OF_DAY);
+            int expectedHour12 = calendar.get(Calendar.HOUR) == 0 ? 12 : calendar.get(Calendar.HOUR);
+            int expectedAmPm = calendar.get(Calendar.AM_PM);
+            String at = "minute " + minuteOfDay;
+
+            int hour12 = HourConverter.toHour12(hourOfDay);
+            int amPm = HourConverter.getAmPm(hourOfDay);
+            assertEquals(at, expectedHour12, hour12);
+            assertEquals(at, expectedAmPm, amPm);
+            assertEquals(at, expectedAmPm == Calendar.AM, HourConverter.isAm(hourOfDay));
+
+            assertEquals(at, hourOfDay, HourConverter.toHourOfDay(hour12, amPm));
+            assertEquals(at, hourOfDay,
+                    HourConverter.toHourOfDay(hour12, HourConverter.isAm(hourOfDay)));
+        }
+    }
+
+    @Test
+    public void roundTripsEveryWallClockHour() {
+        for (int hour12 = 1; hour12 <= 12; hour12++) {
+            int am = HourConverter.toHourOfDay(hour12, true);
+            int pm = HourConverter.toHourOfDay(hour12, false);
+            assertEquals(hour12, HourConverter.toHour12(am));
+            assertEquals(hour12, HourConverter.toHour12(pm));
+            assertEquals(Calendar.AM, HourConverter.getAmPm(am));
+            assertEquals(Calendar.PM, HourConverter.getAmPm(pm));
+        }
+        assertEquals(0, HourConverter.toHourOfDay(12, Calendar.AM));
+        assertEquals(12, HourConverter.toHourOfDay(12, Calendar.PM));
+    }
+}
@@ -0,0 +1,126 @@
+package net.simonvt.numberpicker;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.animation.AccelerateInterpolator;
+import android.widget.FrameLayout;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowChoreographer;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class LongPressReplayTest {
+
+    private static final long RAMP_DURATION = 2000;
+
+    private static final float MAX_RATE = 30;
+
+    private Context mContext;
+
+    private Activity mActivity;
+
+    @Before
+    public void setUp() {
+        mContext = new ContextThemeWrapper(RuntimeEnvironment.application,
+                R.style.NPWidget_Holo_NumberPicker);
+        // The repeat is posted to the animation frames, one per replayed frame.
+        ShadowChoreographer.setPostCallbackDelay((int) GestureReplay.FRAME_MILLIS);
+        mActivity = Robolectric.setupActivity(Activity.class);
+    }
+
+    @After
+    public void tearDown() {
+        ShadowChoreographer.setPostCallbackDelay(0);
+    }
+
+    @Test
+    public void crossesMoreValuesTheLongerTheButtonIsHeld() throws IOException {
+        final long timeout = ViewConfiguration.getLongPressTimeout();
+        final int first = holdIncrementButton(newAcceleratingPicker(), timeout + 1000)
+                .valuesCrossed;
+        final int second = holdIncrementButton(newAcceleratingPicker(), timeout + 2000)
+                .valuesCrossed;
+        final int third = holdIncrementButton(newAcceleratingPicker(), timeout + 3000)
+                .valuesCrossed;
+        assertTrue(first + " " + second, first < second);
+        assertTrue(second + " " + third, second < third);
+        // Each second crosses more values than the one before.
+        assertTrue(first + " " + second + " " + third, third - second > second - first);
+    }
+
+    @Test
+    public void releaseDuringTheFirstStepAddsNoTapStep() throws IOException {
+        NumberPicker picker = newAcceleratingPicker();
+        GestureReplay.Report report = holdIncrementButton(picker,
+                ViewConfiguration.getLongPressTimeout() + 100);
+        assertEquals(report.toString(), 1, report.valuesCrossed);
+        assertEquals(report.toString(), report.startValue + 1, report.finalValue);
+    }
+
+    @Test
+    public void releaseBetweenRepeatsAddsNoTapStep() throws IOException {
+        NumberPicker picker = newPicker();
+        picker.setOnLongPressUpdateInterval(400);
+        // Steps at the timeout and 400 and 800 ms later, each snapped in
+        // before the release.
+        GestureReplay.Report report = holdIncrementButton(picker,
+                ViewConfiguration.getLongPressTimeout() + 1150);
+        assertEquals(report.toString(), 3, report.valuesCrossed);
+        assertEquals(report.toString(), report.startValue + 3, report.finalValue);
+    }
+
+    private NumberPicker newAcceleratingPicker() {
+        NumberPicker picker = newPicker();
+        picker.setLongPressAcceleration(new AccelerateInterpolator(), RAMP_DURATION, MAX_RATE);
+        return picker;
+    }
+
+    private NumberPicker newPicker() {
+        NumberPicker picker = new NumberPicker(mContext);
+        picker.setMinValue(0);
+        picker.setMaxValue(999);
+        picker.setWrapSelectorWheel(false);
+        picker.setValue(100);
+        FrameLayout parent = new FrameLayout(mContext);
+        parent.addView(picker);
+        // Posted commands only run once the picker is attached to a window.
+        mActivity.setContentView(parent);
+        parent.measure(View.MeasureSpec.makeMeasureSpec(200, View.MeasureSpec.AT_MOST),
+                View.MeasureSpec.makeMeasureSpec(400, View.MeasureSpec.AT_MOST));
+        parent.layout(0, 0, parent.getMeasuredWidth(), parent.getMeasuredHeight());
+        return picker;
+    }
+
+    /**
+     * Holds the increment button, below the bottom divider, still for
+     * <code>duration</code>.
+     */
+    private static GestureReplay.Report holdIncrementButton(NumberPicker picker, long duration)
+            throws IOException {
+        final float x = picker.getWidth() / 2;
+        final float y = picker.getHeight() - 1;
+        MotionEventRecorder recorder = new MotionEventRecorder();
+        MotionEvent down = MotionEvent.obtain(0, 0, MotionEvent.ACTION_DOWN, x, y, 0);
+        recorder.record(down);
+        down.recycle();
+        MotionEvent up = MotionEvent.obtain(0, duration, MotionEvent.ACTION_UP, x, y, 0);
+        recorder.record(up);
+        up.recycle();
+        return new GestureReplay().replay(picker, recorder.toByteArray());
+    }
+}
@@ -0,0 +1,152 @@
+package net.simonvt.numberpicker;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LongRangeTest {
+
+    private static final BigInteger TWO_TO_64 = BigInteger.ONE.shiftLeft(64);
+
+    private static final long[] VALUES = {
+            Long.MIN_VALUE, Long.MIN_VALUE + 1, -1000, -1, 0, 1, 59, 60, 1000,
+            Long.MAX_VALUE - 1, Long.MAX_VALUE
+    };
+
+    private static final LongRange[] RANGES = {
+            LongRange.of(0, 59),
+            LongRange.of(5, 5),
+            LongRange.of(-10, 10),
+            LongRange.of(0, Long.MAX_VALUE),
+            LongRange.of(Long.MIN_VALUE, -1),
+            LongRange.of(Long.MIN_VALUE, Long.MAX_VALUE - 1),
+            LongRange.of(Long.MIN_VALUE + 1, Long.MAX_VALUE),
+            LongRange.of(Long.MIN_VALUE, Long.MAX_VALUE)
+    };
+
+    @Test
+    public void wrapsSixtyValues() {
+        LongRange range = LongRange.of(0, 59);
+        assertEquals(0, range.wrap(60));
+        assertEquals(59, range.wrap(-1));
+        assertEquals(1, range.wrap(121));
+        assertEquals(58, range.wrap(-62));
+        assertEquals(30, range.wrap(30));
+    }
+
+    @Test
+    public void wrapsExactlyForAnyRange() {
+        for (LongRange range : RANGES) {
+            for (long value : VALUES) {
+                assertEquals(range + " " + value, expectedWrap(range, value),
+                        range.wrap(value));
+            }
+        }
+    }
+
+    @Test
+    public void stepsExactlyForAnyRange() {
+        long[] steps = {Long.MIN_VALUE, -1000, -61, -1, 0, 1, 61, 1000, Long.MAX_VALUE};
+        for (LongRange range : RANGES) {
+            for (long value : VALUES) {
+                if (!range.contains(value)) {
+                    continue;
+                }
+                for (long step : steps) {
+                    BigInteger target = BigInteger.valueOf(value).add(BigInteger.valueOf(step));
+                    String message = range + " " + value + " " + step;
+                    assertEquals(message, expectedWrap(range, target),
+                            range.step(value, step, true));
+                    assertEquals(message, expectedClamp(range, target),
+                            range.step(value, step, false));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void stepsAroundTheEnds() {
+        LongRange range = LongRange.of(0, Long.MAX_VALUE);
+        assertEquals(0, range.step(Long.MAX_VALUE, 1, true));
+        assertEquals(Long.MAX_VALUE, range.step(0, -1, true));
+        assertEquals(Long.MAX_VALUE, range.step(Long.MAX_VALUE, 1, false));
+        assertEquals(0, range.step(0, -1, false));
+    }
+
+    @Test
+    public void measuresUnsignedDistances() {
+        LongRange range = LongRange.of(0, 59);
+        assertEquals(10, range.distance(50, 0));
+        assertEquals(50, range.distance(0, 50));
+        LongRange full = LongRange.of(Long.MIN_VALUE, Long.MAX_VALUE);
+        assertTrue(full.isFull());
+        assertEquals(-1L, full.distance(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(1, full.distance(Long.MAX_VALUE, Long.MIN_VALUE));
+    }
+
+    @Test
+    public void clampsToTheEnds() {
+        LongRange range = LongRange.of(-10, 10);
+        assertEquals(-10, range.clamp(Long.MIN_VALUE));
+        assertEquals(10, range.clamp(Long.MAX_VALUE));
+        assertEquals(3, range.clamp(3));
+        assertFalse(range.isFull());
+        assertEquals(20, range.getSpan());
+    }
+
+    @Test
+    public void computesUnsignedRemainders() {
+        long[] values = {0, 1, 7, Long.MAX_VALUE, Long.MIN_VALUE, -7, -1};
+        for (long dividend : values) {
+            for (long divisor : values) {
+                if (divisor == 0) {
+                    continue;
+                }
+                assertEquals(unsigned(dividend).mod(unsigned(divisor)).longValue(),
+                        LongRange.remainderUnsigned(dividend, divisor));
+            }
+        }
+    }
+
+    @Test
+    public void comparesByValue() {
+        assertEquals(LongRange.of(1, 2), LongRange.of(1, 2));
+        assertEquals(LongRange.of(1, 2).hashCode(), LongRange.of(1, 2).hashCode());
+        assertFalse(LongRange.of(1, 2).equals(LongRange.of(1, 3)));
+        assertEquals("[1, 2]", LongRange.of(1, 2).toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAnEmptyRange() {
+        LongRange.of(1, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsSteppingFromOutside() {
+        LongRange.of(0, 59).step(60, 1, true);
+    }
+
+    private static long expectedWrap(LongRange range, long value) {
+        return expectedWrap(range, BigInteger.valueOf(value));
+    }
+
+    private static long expectedWrap(LongRange range, BigInteger value) {
+        BigInteger min = BigInteger.valueOf(range.getMinValue());
+        BigInteger size = unsigned(range.getSpan()).add(BigInteger.ONE);
+        return value.subtract(min).mod(size).add(min).longValue();
+    }
+
+    private static long expectedClamp(LongRange range, BigInteger value) {
+        return value.max(BigInteger.valueOf(range.getMinValue()))
+                .min(BigInteger.valueOf(range.getMaxValue())).longValue();
+    }
+
+    private static BigInteger unsigned(long value) {
+        BigInteger result = BigInteger.valueOf(value);
+        return (value < 0) ? result.add(TWO_TO_64) : result;
+    }
+}
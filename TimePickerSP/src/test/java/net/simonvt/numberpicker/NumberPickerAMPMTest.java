@@ -0,0 +1,49 @@
+package net.simonvt.numberpicker;
+
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.view.accessibility.AccessibilityNodeInfo;
+import android.view.accessibility.AccessibilityNodeProvider;
+import android.widget.EditText;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class NumberPickerAMPMTest {
+
+    private NumberPickerAMPM mPicker;
+
+    @Before
+    public void setUp() {
+        mPicker = new NumberPickerAMPM(new ContextThemeWrapper(RuntimeEnvironment.application,
+                R.style.NPWidget_Holo_NumberPicker));
+        mPicker.configure(0, 1, new String[]{"AM", "PM"}, null, false);
+    }
+
+    @Test
+    public void performsAccessibilityActions() {
+        AccessibilityNodeProvider provider = mPicker.getAccessibilityNodeProvider();
+        assertTrue(provider.performAction(View.NO_ID,
+                AccessibilityNodeInfo.ACTION_SCROLL_FORWARD, null));
+        assertFalse(provider.performAction(View.NO_ID,
+                AccessibilityNodeInfo.ACTION_SCROLL_BACKWARD, null));
+    }
+
+    @Test
+    public void disablesTheInputTextWithThePicker() {
+        EditText input = mPicker.findViewById(R.id.np__numberpicker_input);
+        mPicker.setEnabled(false);
+        assertFalse(input.isEnabled());
+        assertFalse(mPicker.getAccessibilityNodeProvider().performAction(View.NO_ID,
+                AccessibilityNodeInfo.ACTION_SCROLL_FORWARD, null));
+        mPicker.setEnabled(true);
+        assertTrue(input.isEnabled());
+    }
+}
@@ -0,0 +1,177 @@
+package net.simonvt.numberpicker;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.view.accessibility.AccessibilityEvent;
+import android.widget.EditText;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class NumberPickerLongRangeTest {
+
+    private static final long EPOCH_SECOND = 4102444800L;
+
+    private NumberPicker mPicker;
+
+    private int mNotifications;
+
+    @Before
+    public void setUp() {
+        mPicker = new NumberPicker(new ContextThemeWrapper(RuntimeEnvironment.application,
+                R.style.NPWidget_Holo_NumberPicker));
+    }
+
+    @Test
+    public void wrapsByTheNumberOfValues() {
+        mPicker.configure(0, 59, null, null, true);
+        mPicker.setValue(119);
+        assertEquals(59, mPicker.getValue());
+        mPicker.setValue(120);
+        assertEquals(0, mPicker.getValue());
+        mPicker.setValue(-61);
+        assertEquals(59, mPicker.getValue());
+    }
+
+    @Test
+    public void picksValuesBeyondTheIntRange() {
+        mPicker.setLongRange(LongRange.of(EPOCH_SECOND, EPOCH_SECOND + 86400), null, false);
+        mPicker.setLongValue(EPOCH_SECOND + 60);
+        assertEquals(EPOCH_SECOND + 60, mPicker.getLongValue());
+        mPicker.setLongValue(Long.MAX_VALUE);
+        assertEquals(EPOCH_SECOND + 86400, mPicker.getLongValue());
+        assertEquals(LongRange.of(EPOCH_SECOND, EPOCH_SECOND + 86400), mPicker.getLongRange());
+    }
+
+    @Test
+    public void wrapsAroundTheEndsOfLong() {
+        mPicker.setLongRange(LongRange.of(Long.MIN_VALUE, Long.MAX_VALUE), null, false);
+        assertTrue(mPicker.getWrapSelectorWheel());
+        mPicker.setLongRange(LongRange.of(0, Long.MAX_VALUE), null, true);
+        mPicker.setLongValue(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, mPicker.getLongValue());
+    }
+
+    @Test
+    public void scrollsAroundTheEndsOfAFullRange() {
+        mPicker.setLongRange(LongRange.of(Long.MIN_VALUE, Long.MAX_VALUE), null, false);
+        mPicker.setLongValue(Long.MAX_VALUE);
+        layout(mPicker);
+        scrollOneItem(false);
+        assertEquals(Long.MAX_VALUE - 1, mPicker.getLongValue());
+        scrollOneItem(true);
+        assertEquals(Long.MAX_VALUE, mPicker.getLongValue());
+        scrollOneItem(true);
+        assertEquals(Long.MIN_VALUE, mPicker.getLongValue());
+        scrollOneItem(false);
+        assertEquals(Long.MAX_VALUE, mPicker.getLongValue());
+    }
+
+    @Test
+    public void reportsScrollPositionsFromTheMinValue() {
+        mPicker.setLongRange(LongRange.of(EPOCH_SECOND, EPOCH_SECOND + 86400), null, false);
+        mPicker.setLongValue(EPOCH_SECOND + 60);
+        layout(mPicker);
+        AccessibilityEvent event = AccessibilityEvent.obtain();
+        mPicker.onInitializeAccessibilityEvent(event);
+        assertTrue(event.getScrollY() > 0);
+        assertEquals(86400L * event.getScrollY(), 60L * event.getMaxScrollY());
+
+        mPicker.setLongRange(LongRange.of(Long.MIN_VALUE, Long.MAX_VALUE), null, true);
+        mPicker.setLongValue(0);
+        event = AccessibilityEvent.obtain();
+        mPicker.onInitializeAccessibilityEvent(event);
+        assertEquals(Integer.MAX_VALUE, event.getScrollY());
+        assertEquals(Integer.MAX_VALUE, event.getMaxScrollY());
+    }
+
+    @Test
+    public void formatsLongValues() {
+        mPicker.setLongRange(LongRange.of(EPOCH_SECOND, EPOCH_SECOND + 10),
+                new NumberPicker.LongFormatter() {
+                    @Override
+                    public String format(long value) {
+                        return "t" + (value - EPOCH_SECOND);
+                    }
+                }, false);
+        mPicker.setLongValue(EPOCH_SECOND + 3);
+        EditText input = mPicker.findViewById(R.id.np__numberpicker_input);
+        assertEquals("t3", input.getText().toString());
+    }
+
+    @Test
+    public void setLongValueDoesNotNotify() {
+        mPicker.setLongRange(LongRange.of(EPOCH_SECOND, EPOCH_SECOND + 10), null, false);
+        mPicker.setOnLongValueChangedListener(new NumberPicker.OnLongValueChangeListener() {
+            @Override
+            public void onValueChange(NumberPicker picker, long oldVal, long newVal) {
+                mNotifications++;
+            }
+        });
+        mPicker.setLongValue(EPOCH_SECOND + 3);
+        assertEquals(0, mNotifications);
+    }
+
+    @Test
+    public void savesLongValues() {
+        mPicker.setLongRange(LongRange.of(EPOCH_SECOND, EPOCH_SECOND + 10), null, false);
+        mPicker.setLongValue(EPOCH_SECOND + 3);
+        Parcelable state = mPicker.onSaveInstanceState();
+        mPicker.setLongValue(EPOCH_SECOND);
+        mPicker.onRestoreInstanceState(state);
+        assertEquals(EPOCH_SECOND + 3, mPicker.getLongValue());
+    }
+
+    @Test
+    public void parcelsPackedAndWideValues() {
+        mPicker.setLongRange(LongRange.of(Long.MIN_VALUE, Long.MAX_VALUE), null, true);
+        for (long value : new long[]{EPOCH_SECOND, -EPOCH_SECOND, Long.MAX_VALUE,
+                Long.MIN_VALUE}) {
+            mPicker.setLongValue(value);
+            Parcelable state = parcel(mPicker.onSaveInstanceState());
+            mPicker.setLongValue(0);
+            mPicker.onRestoreInstanceState(state);
+            assertEquals(value, mPicker.getLongValue());
+            assertTrue(mPicker.getWrapSelectorWheel());
+        }
+    }
+
+    private static Parcelable parcel(Parcelable state) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.writeParcelable(state, 0);
+            parcel.setDataPosition(0);
+            Parcelable result = parcel.readParcelable(NumberPicker.class.getClassLoader());
+            assertEquals(parcel.dataSize(), parcel.dataPosition());
+            return result;
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    private static void layout(View view) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(200, View.MeasureSpec.AT_MOST),
+                View.MeasureSpec.makeMeasureSpec(400, View.MeasureSpec.AT_MOST));
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+    }
+
+    /**
+     * Drags the wheel pixel by pixel until the value changes, like a user
+     * scrolling by one item.
+     */
+    private void scrollOneItem(boolean forward) {
+        final long value = mPicker.getLongValue();
+        for (int i = 0; i < 1000 && mPicker.getLongValue() == value; i++) {
+            mPicker.scrollBy(0, forward ? -1 : 1);
+        }
+    }
+}
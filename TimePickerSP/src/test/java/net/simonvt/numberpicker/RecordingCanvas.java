@@ -0,0 +1,334 @@
+package net.simonvt.numberpicker;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A canvas which records the operations drawn into it instead of drawing.
+ * <p>
+ * Save and restore calls are tracked here, so the recorded save count does
+ * not depend on the graphics implementation of the test runtime.
+ * </p>
+ */
+class RecordingCanvas extends Canvas {
+
+    private final List<String> mOps = new ArrayList<String>();
+
+    private int mDrawCount;
+
+    private int mTextCount;
+
+    private int mSaveCalls;
+
+    private int mRestoreCalls;
+
+    private int mSaveCount = 1;
+
+    private int mMaxSaveCount = 1;
+
+    /**
+     * Drops all recorded operations and resets the save count.
+     */
+    void reset() {
+        mOps.clear();
+        mDrawCount = 0;
+        mTextCount = 0;
+        mSaveCalls = 0;
+        mRestoreCalls = 0;
+        mSaveCount = 1;
+        mMaxSaveCount = 1;
+    }
+
+    /**
+     * @return The number of draw calls of any kind, including text.
+     */
+    int getDrawCount() {
+        return mDrawCount;
+    }
+
+    /**
+     * @return The number of text draw calls.
+     */
+    int getTextCount() {
+        return mTextCount;
+    }
+
+    /**
+     * @return The number of save calls, including layers.
+     */
+    int getSaveCalls() {
+        return mSaveCalls;
+    }
+
+    /**
+     * @return The number of states popped by restore calls.
+     */
+    int getRestoreCalls() {
+        return mRestoreCalls;
+    }
+
+    /**
+     * @return The largest save count reached.
+     */
+    int getMaxSaveCount() {
+        return mMaxSaveCount;
+    }
+
+    /**
+     * @return The names of the recorded operations, in order.
+     */
+    List<String> getOps() {
+        return mOps;
+    }
+
+    private void onDraw(String op) {
+        mOps.add(op);
+        mDrawCount++;
+    }
+
+    private void onDrawText(String op) {
+        onDraw(op);
+        mTextCount++;
+    }
+
+    private int onSave(String op) {
+        mOps.add(op);
+        mSaveCalls++;
+        final int saveCount = mSaveCount++;
+        mMaxSaveCount = Math.max(mMaxSaveCount, mSaveCount);
+        return saveCount;
+    }
+
+    @Override
+    public int save() {
+        return onSave("save");
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public int save(int saveFlags) {
+        return onSave("save");
+    }
+
+    @Override
+    public int saveLayer(RectF bounds, Paint paint, int saveFlags) {
+        return onSave("saveLayer");
+    }
+
+    @Override
+    public int saveLayer(RectF bounds, Paint paint) {
+        return onSave("saveLayer");
+    }
+
+    @Override
+    public int saveLayer(float left, float top, float right, float bottom, Paint paint,
+                         int saveFlags) {
+        return onSave("saveLayer");
+    }
+
+    @Override
+    public int saveLayer(float left, float top, float right, float bottom, Paint paint) {
+        return onSave("saveLayer");
+    }
+
+    @Override
+    public int saveLayerAlpha(RectF bounds, int alpha, int saveFlags) {
+        return onSave("saveLayerAlpha");
+    }
+
+    @Override
+    public int saveLayerAlpha(RectF bounds, int alpha) {
+        return onSave("saveLayerAlpha");
+    }
+
+    @Override
+    public int saveLayerAlpha(float left, float top, float right, float bottom, int alpha,
+                              int saveFlags) {
+        return onSave("saveLayerAlpha");
+    }
+
+    @Override
+    public int saveLayerAlpha(float left, float top, float right, float bottom, int alpha) {
+        return onSave("saveLayerAlpha");
+    }
+
+    @Override
+    public void restore() {
+        if (mSaveCount <= 1) {
+            throw new IllegalStateException("Underflow in restore");
+        }
+        mOps.add("restore");
+        mRestoreCalls++;
+        mSaveCount--;
+    }
+
+    @Override
+    public void restoreToCount(int saveCount) {
+        if (saveCount < 1 || saveCount > mSaveCount) {
+            throw new IllegalArgumentException("Invalid save count: " + saveCount);
+        }
+        mOps.add("restoreToCount");
+        mRestoreCalls += mSaveCount - saveCount;
+        mSaveCount = saveCount;
+    }
+
+    @Override
+    public int getSaveCount() {
+        return mSaveCount;
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        onDrawText("drawText(" + text + ")");
+    }
+
+    @Override
+    public void drawText(String text, int start, int end, float x, float y, Paint paint) {
+        onDrawText("drawText(" + text.substring(start, end) + ")");
+    }
+
+    @Override
+    public void drawText(CharSequence text, int start, int end, float x, float y, Paint paint) {
+        onDrawText("drawText(" + text.subSequence(start, end) + ")");
+    }
+
+    @Override
+    public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+        onDrawText("drawText(" + new String(text, index, count) + ")");
+    }
+
+    @Override
+    public void drawTextRun(char[] text, int index, int count, int contextIndex,
+                            int contextCount, float x, float y, boolean isRtl, Paint paint) {
+        onDrawText("drawTextRun(" + new String(text, index, count) + ")");
+    }
+
+    @Override
+    public void drawTextRun(CharSequence text, int start, int end, int contextStart,
+                            int contextEnd, float x, float y, boolean isRtl, Paint paint) {
+        onDrawText("drawTextRun(" + text.subSequence(start, end) + ")");
+    }
+
+    @Override
+    public void drawTextOnPath(String text, Path path, float hOffset, float vOffset,
+                               Paint paint) {
+        onDrawText("drawTextOnPath(" + text + ")");
+    }
+
+    @Override
+    public void drawColor(int color) {
+        onDraw("drawColor");
+    }
+
+    @Override
+    public void drawColor(int color, PorterDuff.Mode mode) {
+        onDraw("drawColor");
+    }
+
+    @Override
+    public void drawPaint(Paint paint) {
+        onDraw("drawPaint");
+    }
+
+    @Override
+    public void drawRect(RectF rect, Paint paint) {
+        onDraw("drawRect");
+    }
+
+    @Override
+    public void drawRect(Rect r, Paint paint) {
+        onDraw("drawRect");
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        onDraw("drawRect");
+    }
+
+    @Override
+    public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+        onDraw("drawRoundRect");
+    }
+
+    @Override
+    public void drawRoundRect(float left, float top, float right, float bottom, float rx,
+                              float ry, Paint paint) {
+        onDraw("drawRoundRect");
+    }
+
+    @Override
+    public void drawOval(RectF oval, Paint paint) {
+        onDraw("drawOval");
+    }
+
+    @Override
+    public void drawOval(float left, float top, float right, float bottom, Paint paint) {
+        onDraw("drawOval");
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        onDraw("drawCircle");
+    }
+
+    @Override
+    public void drawArc(RectF oval, float startAngle, float sweepAngle, boolean useCenter,
+                        Paint paint) {
+        onDraw("drawArc");
+    }
+
+    @Override
+    public void drawArc(float left, float top, float right, float bottom, float startAngle,
+                        float sweepAngle, boolean useCenter, Paint paint) {
+        onDraw("drawArc");
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+        onDraw("drawLine");
+    }
+
+    @Override
+    public void drawLines(float[] pts, int offset, int count, Paint paint) {
+        onDraw("drawLines");
+    }
+
+    @Override
+    public void drawLines(float[] pts, Paint paint) {
+        onDraw("drawLines");
+    }
+
+    @Override
+    public void drawPath(Path path, Paint paint) {
+        onDraw("drawPath");
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        onDraw("drawBitmap");
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, RectF dst, Paint paint) {
+        onDraw("drawBitmap");
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, Rect dst, Paint paint) {
+        onDraw("drawBitmap");
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Matrix matrix, Paint paint) {
+        onDraw("drawBitmap");
+    }
+}
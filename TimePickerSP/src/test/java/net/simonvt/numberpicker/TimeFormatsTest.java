@@ -0,0 +1,88 @@
+package net.simonvt.numberpicker;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TimeFormatsTest {
+
+    private static final long START = 1514764800000L; // 2018-01-01T00:00:00Z
+
+    @Test
+    public void matchesSimpleDateFormat() {
+        String[] patterns = new String[]{"hh:mm a", "EEE, dd MMM yyyy, hh:mm a", "HH:mm:ss.SSS"};
+        Locale[] locales = new Locale[]{Locale.US, Locale.GERMANY, Locale.JAPAN};
+        for (String pattern : patterns) {
+            for (Locale locale : locales) {
+                SimpleDateFormat expected = new SimpleDateFormat(pattern, locale);
+                for (long millis = START - 90000; millis < START + 86400000L; millis += 37003) {
+                    String at = pattern + " " + locale + " " + millis;
+                    assertEquals(at, expected.format(new Date(millis)),
+                            TimeFormats.format(pattern, locale, millis));
+                    assertEquals(at, "<" + expected.format(new Date(millis)),
+                            TimeFormats.formatTo(pattern, locale, millis,
+                                    new StringBuilder("<")).toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void reusesFormattedMinutes() {
+        String first = TimeFormats.format("hh:mm a", Locale.US, START + 1000);
+        assertSame(first, TimeFormats.format("hh:mm a", Locale.US, START + 59999));
+        TimeFormats.clear();
+        assertEquals(first, TimeFormats.format("hh:mm a", Locale.US, START));
+    }
+
+    @Test
+    public void detectsSubMinuteFields() {
+        assertFalse(TimeFormats.hasSubMinuteFields("hh:mm a"));
+        assertFalse(TimeFormats.hasSubMinuteFields("EEE, dd MMM yyyy 'seconds'"));
+        assertTrue(TimeFormats.hasSubMinuteFields("HH:mm:ss"));
+        assertTrue(TimeFormats.hasSubMinuteFields("HH:mm 'x' SSS"));
+    }
+
+    @Test
+    public void isSafeAcrossThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int t = 0; t < 8; t++) {
+                final int offset = t;
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        SimpleDateFormat expected = new SimpleDateFormat("HH:mm:ss", Locale.US);
+                        for (int i = 0; i < 2000; i++) {
+                            long millis = START + (offset * 2000L + i) * 1001L;
+                            if (!expected.format(new Date(millis)).equals(
+                                    TimeFormats.format("HH:mm:ss", Locale.US, millis))) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package net.simonvt.numberpicker;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TimeIntervalSetTest {
+
+    @Test
+    public void intervalsAreHalfOpen() {
+        TimeIntervalSet set = new TimeIntervalSet();
+        set.add(10, 20);
+        assertFalse(set.contains(9));
+        assertTrue(set.contains(10));
+        assertTrue(set.contains(19));
+        assertFalse(set.contains(20));
+    }
+
+    @Test
+    public void keepsIntervalsSortedWhenAddedInAnyOrder() {
+        TimeIntervalSet set = new TimeIntervalSet();
+        set.add(50, 60);
+        set.add(10, 20);
+        set.add(30, 40);
+        set.add(70, 80);
+        set.add(0, 5);
+        assertEquals(5, set.size());
+        assertEquals("[[0, 5), [10, 20), [30, 40), [50, 60), [70, 80)]", set.toString());
+    }
+
+    @Test
+    public void mergesOverlappingAndTouchingIntervals() {
+        TimeIntervalSet set = new TimeIntervalSet();
+        set.add(10, 20);
+        set.add(30, 40);
+        set.add(50, 60);
+        set.add(20, 30);
+        assertEquals("[[10, 40), [50, 60)]", set.toString());
+        set.add(35, 55);
+        assertEquals("[[10, 60)]", set.toString());
+        set.add(0, 100);
+        assertEquals("[[0, 100)]", set.toString());
+        set.add(40, 50);
+        assertEquals("[[0, 100)]", set.toString());
+    }
+
+    @Test
+    public void findsTheNearestValueOutside() {
+        TimeIntervalSet set = new TimeIntervalSet();
+        set.add(10, 20);
+        set.add(30, 40);
+        assertEquals(5, set.nearestOutside(5, 0, 100));
+        assertEquals(9, set.nearestOutside(12, 0, 100));
+        assertEquals(20, set.nearestOutside(17, 0, 100));
+        // A tie goes to the smaller value.
+        assertEquals(9, set.nearestOutside(14, 0, 100));
+        assertEquals(20, set.nearestOutside(20, 0, 100));
+        assertEquals(29, set.nearestOutside(31, 0, 100));
+    }
+
+    @Test
+    public void staysWithinTheBounds() {
+        TimeIntervalSet set = new TimeIntervalSet();
+        set.add(10, 20);
+        assertEquals(20, set.nearestOutside(11, 15, 30));
+        assertEquals(9, set.nearestOutside(19, 0, 15));
+        assertEquals(30, set.nearestOutside(50, 0, 30));
+        assertEquals(-1, set.nearestOutside(12, 10, 19));
+        assertEquals(-1, set.nearestOutside(12, 20, 10));
+    }
+
+    @Test
+    public void addsAllAndCopies() {
+        TimeIntervalSet set = new TimeIntervalSet();
+        set.add(10, 20);
+        TimeIntervalSet copy = new TimeIntervalSet(set);
+        copy.add(0, 5);
+        assertEquals(1, set.size());
+        set.addAll(copy);
+        assertEquals(copy, set);
+        assertEquals(copy.hashCode(), set.hashCode());
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(12));
+    }
+
+    @Test
+    public void growsBeyondTheInitialCapacity() {
+        TimeIntervalSet set = new TimeIntervalSet();
+        for (int i = 99; i >= 0; i--) {
+            set.add(3 * i, 3 * i + 2);
+        }
+        assertEquals(100, set.size());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(set.contains(3 * i + 1));
+            assertFalse(set.contains(3 * i + 2));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyIntervals() {
+        new TimeIntervalSet().add(10, 10);
+    }
+}
@@ -0,0 +1,76 @@
+package net.simonvt.numberpicker;
+
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class TimePickerBindTest {
+
+    private TimePicker mTimePicker;
+
+    private int mNotifications;
+
+    private boolean mEditOpened;
+
+    @Before
+    public void setUp() {
+        mTimePicker = new TimePicker(new ContextThemeWrapper(RuntimeEnvironment.application,
+                R.style.NPWidget_Holo_NumberPicker));
+        mTimePicker.bind(10, 0, false);
+        mTimePicker.setOnTimeChangedListener(new TimePicker.OnTimeChangedListener() {
+            @Override
+            public void onTimeChanged(TimePicker view, int hourOfDay, int minute) {
+                mNotifications++;
+            }
+        });
+        mTimePicker.setEventListener(new TimePicker.ICustomEventListener() {
+            @Override
+            public void isTimeEditOpened(boolean isTimeEditOpened) {
+                mEditOpened = isTimeEditOpened;
+            }
+        });
+    }
+
+    @Test
+    public void bindAfterEditingLeavesEditMode() {
+        mTimePicker.mEditHour.setVisibility(View.VISIBLE);
+        mTimePicker.mEditMin.setVisibility(View.VISIBLE);
+        mTimePicker.findViewById(R.id.hour).setVisibility(View.INVISIBLE);
+        mTimePicker.findViewById(R.id.minute).setVisibility(View.INVISIBLE);
+        mEditOpened = true;
+        mTimePicker.mEditMin.requestFocus();
+        mTimePicker.mEditMin.setText("4");
+        mNotifications = 0;
+
+        mTimePicker.bind(15, 30, true);
+
+        assertEquals(View.INVISIBLE, mTimePicker.mEditHour.getVisibility());
+        assertEquals(View.INVISIBLE, mTimePicker.mEditMin.getVisibility());
+        assertFalse(mTimePicker.mEditHour.hasFocus());
+        assertFalse(mTimePicker.mEditMin.hasFocus());
+        assertEquals(View.VISIBLE, mTimePicker.findViewById(R.id.hour).getVisibility());
+        assertEquals(View.VISIBLE, mTimePicker.findViewById(R.id.minute).getVisibility());
+        assertFalse(mEditOpened);
+        assertEquals(0, mNotifications);
+        assertEquals(15, (int) mTimePicker.getCurrentHour());
+        assertEquals(30, (int) mTimePicker.getCurrentMinute());
+    }
+
+    @Test
+    public void unbindOutsideEditModeKeepsTheListenerQuiet() {
+        mEditOpened = true;
+        mTimePicker.unbind();
+        assertTrue(mEditOpened);
+        assertEquals(0, mNotifications);
+    }
+}
@@ -0,0 +1,154 @@
+package net.simonvt.numberpicker;
+
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class TimePickerConstraintsTest {
+
+    private TimePicker mTimePicker;
+
+    private NumberPicker mHourSpinner;
+
+    private NumberPicker mMinuteSpinner;
+
+    private int mNotifications;
+
+    @Before
+    public void setUp() {
+        mTimePicker = new TimePicker(new ContextThemeWrapper(RuntimeEnvironment.application,
+                R.style.NPWidget_Holo_NumberPicker));
+        mTimePicker.bind(12, 0, true);
+        mHourSpinner = mTimePicker.findViewById(R.id.hour);
+        mMinuteSpinner = mTimePicker.findViewById(R.id.minute);
+        mTimePicker.setOnTimeChangedListener(new TimePicker.OnTimeChangedListener() {
+            @Override
+            public void onTimeChanged(TimePicker view, int hourOfDay, int minute) {
+                mNotifications++;
+            }
+        });
+    }
+
+    @Test
+    public void boundsMoveTheTimeAndRestrictTheHours() {
+        mTimePicker.setMinTime(9, 30);
+        mTimePicker.setMaxTime(11, 15);
+        assertTime(11, 15);
+        assertEquals(1, mNotifications);
+        assertEquals(9, mHourSpinner.getMinValue());
+        assertEquals(11, mHourSpinner.getMaxValue());
+        assertEquals(0, mMinuteSpinner.getMinValue());
+        assertEquals(15, mMinuteSpinner.getMaxValue());
+
+        mTimePicker.setCurrentHour(9);
+        assertTime(9, 30);
+        assertEquals(30, mMinuteSpinner.getMinValue());
+        assertEquals(59, mMinuteSpinner.getMaxValue());
+    }
+
+    @Test
+    public void blockedIntervalsAreSkipped() {
+        mTimePicker.addBlockedInterval(11, 45, 12, 30);
+        // The nearest allowed minute within the same hour.
+        assertTime(12, 30);
+        assertFalse(mTimePicker.isTimeAllowed(12, 10));
+        assertTrue(mTimePicker.isTimeAllowed(12, 30));
+        ValueDomain minutes = mMinuteSpinner.getValueDomain();
+        assertEquals(30, minutes.getMinValue());
+        assertFalse(minutes.contains(29));
+
+        mTimePicker.setCurrentHour(11);
+        assertTime(11, 30);
+        assertEquals(44, mMinuteSpinner.getMaxValue());
+
+        mTimePicker.clearBlockedIntervals();
+        assertNull(mMinuteSpinner.getValueDomain());
+        assertEquals(0, mMinuteSpinner.getMinValue());
+        assertTrue(mTimePicker.isTimeAllowed(12, 10));
+    }
+
+    @Test
+    public void intervalsSpanningMidnightWrap() {
+        mTimePicker.addBlockedInterval(22, 0, 6, 0);
+        assertFalse(mTimePicker.isTimeAllowed(23, 0));
+        assertFalse(mTimePicker.isTimeAllowed(0, 0));
+        assertFalse(mTimePicker.isTimeAllowed(5, 59));
+        assertTrue(mTimePicker.isTimeAllowed(6, 0));
+        mTimePicker.setCurrentHour(3);
+        assertTime(6, 0);
+    }
+
+    @Test
+    public void twelveHourViewRestrictsTheHalfOfTheDay() {
+        mTimePicker.setIs24HourView(false);
+        mTimePicker.setMinTime(13, 0);
+        assertTime(13, 0);
+        assertEquals(1, mHourSpinner.getMinValue());
+        assertEquals(11, mHourSpinner.getMaxValue());
+        assertFalse(mHourSpinner.getValueDomain().contains(12));
+    }
+
+    @Test
+    public void scrollingPastABlockedHourSwitchesTheHalfOfTheDay() {
+        mTimePicker.setIs24HourView(false);
+        mTimePicker.addBlockedInterval(11, 0, 12, 0);
+        layout(mTimePicker);
+        mTimePicker.setCurrentHour(10);
+        scrollOneItem(mHourSpinner, true);
+        assertTime(12, 0);
+
+        mTimePicker.setCurrentHour(0);
+        scrollOneItem(mHourSpinner, false);
+        assertTime(23, 0);
+        scrollOneItem(mHourSpinner, true);
+        assertTime(0, 0);
+    }
+
+    @Test
+    public void bindMovesToAnAllowedTimeWithoutNotifying() {
+        mTimePicker.setMaxTime(17, 0);
+        mNotifications = 0;
+        mTimePicker.bind(20, 0, true);
+        assertTime(17, 0);
+        assertEquals(0, mNotifications);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMinTimeAfterMaxTime() {
+        mTimePicker.setMaxTime(10, 0);
+        mTimePicker.setMinTime(10, 1);
+    }
+
+    private static void layout(View view) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(720, View.MeasureSpec.AT_MOST),
+                View.MeasureSpec.makeMeasureSpec(600, View.MeasureSpec.AT_MOST));
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+    }
+
+    /**
+     * Drags the wheel of <code>spinner</code> pixel by pixel until its value
+     * changes, like a user scrolling by one item.
+     */
+    private static void scrollOneItem(NumberPicker spinner, boolean forward) {
+        final int value = spinner.getValue();
+        for (int i = 0; i < 1000 && spinner.getValue() == value; i++) {
+            spinner.scrollBy(0, forward ? -1 : 1);
+        }
+    }
+
+    private void assertTime(int hourOfDay, int minute) {
+        assertEquals(hourOfDay, (int) mTimePicker.getCurrentHour());
+        assertEquals(minute, (int) mTimePicker.getCurrentMinute());
+    }
+}
@@ -0,0 +1,87 @@
+package net.simonvt.numberpicker;
+
+import android.view.ContextThemeWrapper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class TimePickerReentrancyTest {
+
+    private TimePicker mTimePicker;
+
+    private final List<String> mNotifications = new ArrayList<String>();
+
+    private int mDepth;
+
+    private int mMaxDepth;
+
+    @Before
+    public void setUp() {
+        mTimePicker = new TimePicker(new ContextThemeWrapper(RuntimeEnvironment.application,
+                R.style.NPWidget_Holo_NumberPicker));
+        mTimePicker.setIs24HourView(true);
+        mTimePicker.setCurrentHour(10);
+        mTimePicker.setCurrentMinute(0);
+        mNotifications.clear();
+        mDepth = 0;
+        mMaxDepth = 0;
+    }
+
+    @Test
+    public void changesFromTheListenerCollapseIntoOneNotification() {
+        mTimePicker.setOnTimeChangedListener(new TimePicker.OnTimeChangedListener() {
+            @Override
+            public void onTimeChanged(TimePicker view, int hourOfDay, int minute) {
+                enter(hourOfDay, minute);
+                if (hourOfDay == 11) {
+                    view.setCurrentHour(14);
+                    view.setCurrentHour(15);
+                }
+                mDepth--;
+            }
+        });
+        mTimePicker.setCurrentHour(11);
+        assertEquals(1, mMaxDepth);
+        assertEquals(2, mNotifications.size());
+        assertEquals("11:0", mNotifications.get(0));
+        assertEquals("15:0", mNotifications.get(1));
+        assertEquals(15, (int) mTimePicker.getCurrentHour());
+    }
+
+    @Test
+    public void setCalendarFromTheListenerDoesNotNotify() {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.set(Calendar.HOUR_OF_DAY, 18);
+        calendar.set(Calendar.MINUTE, 45);
+        mTimePicker.setOnTimeChangedListener(new TimePicker.OnTimeChangedListener() {
+            @Override
+            public void onTimeChanged(TimePicker view, int hourOfDay, int minute) {
+                enter(hourOfDay, minute);
+                view.setCalendar(calendar);
+                mDepth--;
+            }
+        });
+        mTimePicker.setCurrentHour(11);
+        assertEquals(1, mMaxDepth);
+        assertEquals(1, mNotifications.size());
+        assertEquals("11:0", mNotifications.get(0));
+        assertEquals(18, (int) mTimePicker.getCurrentHour());
+        assertEquals(45, (int) mTimePicker.getCurrentMinute());
+    }
+
+    private void enter(int hourOfDay, int minute) {
+        mNotifications.add(hourOfDay + ":" + minute);
+        mDepth++;
+        mMaxDepth = Math.max(mMaxDepth, mDepth);
+    }
+}
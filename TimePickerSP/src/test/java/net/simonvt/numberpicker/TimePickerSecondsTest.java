@@ -0,0 +1,158 @@
+package net.simonvt.numberpicker;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class TimePickerSecondsTest {
+
+    private TimePicker mTimePicker;
+
+    private int mNotifications;
+
+    private int mPreciseNotifications;
+
+    private int mLastSecond;
+
+    private int mLastHundredth;
+
+    @Before
+    public void setUp() {
+        mTimePicker = newTimePicker();
+        mTimePicker.bind(12, 0, true);
+    }
+
+    @Test
+    public void columnsAreOnlyInflatedWhenShown() {
+        assertNull(mTimePicker.findViewById(R.id.seconds));
+        assertEquals(0, mTimePicker.getCurrentSecond());
+        mTimePicker.setCurrentSecond(30);
+        assertEquals(0, mTimePicker.getCurrentSecond());
+
+        mTimePicker.setShowSeconds(true);
+        assertNotNull(mTimePicker.findViewById(R.id.seconds));
+        assertEquals(View.GONE, mTimePicker.findViewById(R.id.hundredths).getVisibility());
+    }
+
+    @Test
+    public void hundredthsImplySeconds() {
+        mTimePicker.setShowHundredths(true);
+        assertTrue(mTimePicker.isShowingSeconds());
+        assertEquals(View.VISIBLE, mTimePicker.findViewById(R.id.hundredths).getVisibility());
+
+        mTimePicker.setShowSeconds(false);
+        assertFalse(mTimePicker.isShowingHundredths());
+        assertEquals(View.GONE, mTimePicker.findViewById(R.id.time_picker_seconds)
+                .getVisibility());
+    }
+
+    @Test
+    public void setCalendarShowsSecondsAndHundredths() {
+        mTimePicker.setShowHundredths(true);
+        listen();
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(Calendar.HOUR_OF_DAY, 12);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 42);
+        calendar.set(Calendar.MILLISECOND, 375);
+        mTimePicker.setCalendar(calendar);
+        assertEquals(42, mTimePicker.getCurrentSecond());
+        assertEquals(37, mTimePicker.getCurrentHundredth());
+        assertEquals(0, mPreciseNotifications);
+    }
+
+    @Test
+    public void preciseListenerIsNotifiedOfSecondChanges() {
+        mTimePicker.setShowHundredths(true);
+        listen();
+        mTimePicker.setCurrentSecond(5);
+        mTimePicker.setCurrentHundredth(50);
+        mTimePicker.setCurrentHundredth(50);
+        assertEquals(2, mPreciseNotifications);
+        assertEquals(5, mLastSecond);
+        assertEquals(50, mLastHundredth);
+        assertEquals(0, mNotifications);
+    }
+
+    @Test
+    public void plainListenerIgnoresSecondChanges() {
+        mTimePicker.setShowSeconds(true);
+        mTimePicker.setOnTimeChangedListener(new TimePicker.OnTimeChangedListener() {
+            @Override
+            public void onTimeChanged(TimePicker view, int hourOfDay, int minute) {
+                mNotifications++;
+            }
+        });
+        mTimePicker.setCurrentSecond(5);
+        assertEquals(0, mNotifications);
+        mTimePicker.setCurrentMinute(1);
+        assertEquals(1, mNotifications);
+    }
+
+    @Test
+    public void stateIsSavedAndRestored() {
+        mTimePicker.bind(23, 59, true);
+        mTimePicker.setShowHundredths(true);
+        mTimePicker.setCurrentSecond(59);
+        mTimePicker.setCurrentHundredth(99);
+        Parcelable state = mTimePicker.onSaveInstanceState();
+
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.writeParcelable(state, 0);
+            parcel.setDataPosition(0);
+            state = parcel.readParcelable(TimePicker.class.getClassLoader());
+            assertEquals(parcel.dataSize(), parcel.dataPosition());
+        } finally {
+            parcel.recycle();
+        }
+
+        TimePicker restored = newTimePicker();
+        restored.onRestoreInstanceState(state);
+        assertTrue(restored.is24HourView());
+        assertEquals(23, (int) restored.getCurrentHour());
+        assertEquals(59, (int) restored.getCurrentMinute());
+        assertTrue(restored.isShowingSeconds());
+        assertTrue(restored.isShowingHundredths());
+        assertEquals(59, restored.getCurrentSecond());
+        assertEquals(99, restored.getCurrentHundredth());
+    }
+
+    private TimePicker newTimePicker() {
+        return new TimePicker(new ContextThemeWrapper(RuntimeEnvironment.application,
+                R.style.NPWidget_Holo_NumberPicker));
+    }
+
+    private void listen() {
+        mTimePicker.setOnTimeChangedListener(new TimePicker.OnPreciseTimeChangedListener() {
+            @Override
+            public void onTimeChanged(TimePicker view, int hourOfDay, int minute) {
+                mNotifications++;
+            }
+
+            @Override
+            public void onTimeChanged(TimePicker view, int hourOfDay, int minute, int second,
+                                      int hundredth) {
+                mPreciseNotifications++;
+                mLastSecond = second;
+                mLastHundredth = hundredth;
+            }
+        });
+    }
+}
@@ -0,0 +1,89 @@
+package net.simonvt.numberpicker;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TouchResamplerTest {
+
+    private static final float DELTA = 1e-4f;
+
+    @Test
+    public void interpolatesBetweenSamples() {
+        TouchResampler resampler = new TouchResampler();
+        resampler.add(100, 10);
+        resampler.add(108, 26);
+        resampler.add(116, 30);
+        assertEquals(10, resampler.getY(100, 0), DELTA);
+        assertEquals(18, resampler.getY(104, 0), DELTA);
+        assertEquals(26, resampler.getY(108, 0), DELTA);
+        assertEquals(28, resampler.getY(112, 0), DELTA);
+        assertEquals(30, resampler.getY(116, 0), DELTA);
+    }
+
+    @Test
+    public void clampsWithoutPrediction() {
+        TouchResampler resampler = new TouchResampler();
+        resampler.add(100, 10);
+        resampler.add(110, 20);
+        assertEquals(20, resampler.getY(130, 0), DELTA);
+        assertEquals(10, resampler.getY(50, 0), DELTA);
+    }
+
+    @Test
+    public void extrapolatesUpToTheLimit() {
+        TouchResampler resampler = new TouchResampler();
+        resampler.add(100, 10);
+        resampler.add(110, 20);
+        assertEquals(25, resampler.getY(115, 8), DELTA);
+        assertEquals(28, resampler.getY(130, 8), DELTA);
+    }
+
+    @Test
+    public void extrapolatesFromSamplesFarEnoughApart() {
+        TouchResampler resampler = new TouchResampler();
+        resampler.add(100, 0);
+        resampler.add(110, 10);
+        // A sample right after the previous one is too noisy for a velocity.
+        resampler.add(111, 30);
+        assertEquals(30 + 30f / 11 * 4, resampler.getY(115, 16), DELTA);
+    }
+
+    @Test
+    public void replacesSamplesWhichAreNotNewer() {
+        TouchResampler resampler = new TouchResampler();
+        resampler.add(100, 10);
+        resampler.add(100, 12);
+        resampler.add(90, 14);
+        assertEquals(14, resampler.getY(100, 0), DELTA);
+        assertEquals(14, resampler.getY(200, 16), DELTA);
+    }
+
+    @Test
+    public void keepsTheNewestSamples() {
+        TouchResampler resampler = new TouchResampler();
+        for (int i = 0; i < 3 * TouchResampler.CAPACITY; i++) {
+            resampler.add(i * 4, i);
+        }
+        final int last = 3 * TouchResampler.CAPACITY - 1;
+        assertEquals(last - 0.5f, resampler.getY(last * 4 - 2, 0), DELTA);
+        final int oldest = last - TouchResampler.CAPACITY + 1;
+        assertEquals(oldest, resampler.getY(0, 0), DELTA);
+    }
+
+    @Test
+    public void resetDropsSamples() {
+        TouchResampler resampler = new TouchResampler();
+        resampler.add(100, 10);
+        resampler.reset();
+        assertTrue(resampler.isEmpty());
+        resampler.add(50, 5);
+        assertEquals(5, resampler.getY(100, 0), DELTA);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void failsWithoutSamples() {
+        new TouchResampler().getY(0, 0);
+    }
+}
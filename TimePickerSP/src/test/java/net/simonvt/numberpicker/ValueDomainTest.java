@@ -0,0 +1,89 @@
+package net.simonvt.numberpicker;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the lookups of {@link ValueDomain} against a {@link TreeSet}.
+ */
+public class ValueDomainTest {
+
+    @Test
+    public void steppedMatchesReference() {
+        assertMatches(ValueDomain.stepped(0, 59, 5), reference(0, 59, 5));
+        assertMatches(ValueDomain.stepped(0, 59, 15), reference(0, 59, 15));
+        assertMatches(ValueDomain.stepped(3, 100, 7), reference(3, 100, 7));
+        assertMatches(ValueDomain.range(1, 12), reference(1, 12, 1));
+        assertEquals(45, ValueDomain.stepped(0, 59, 15).getMaxValue());
+    }
+
+    @Test
+    public void bitsetMatchesReference() {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            int count = 1 + random.nextInt(200);
+            int[] values = new int[count];
+            TreeSet<Integer> reference = new TreeSet<Integer>();
+            for (int i = 0; i < count; i++) {
+                values[i] = random.nextInt(1000);
+                reference.add(values[i]);
+            }
+            assertMatches(ValueDomain.of(values), reference);
+        }
+    }
+
+    @Test
+    public void equalDomainsAreEqual() {
+        assertEquals(ValueDomain.stepped(0, 59, 15), ValueDomain.of(45, 30, 15, 0, 0));
+        assertEquals(ValueDomain.stepped(0, 59, 15).hashCode(),
+                ValueDomain.of(0, 15, 30, 45).hashCode());
+    }
+
+    private static TreeSet<Integer> reference(int min, int max, int step) {
+        TreeSet<Integer> reference = new TreeSet<Integer>();
+        for (int value = min; value <= max; value += step) {
+            reference.add(value);
+        }
+        return reference;
+    }
+
+    private static void assertMatches(ValueDomain domain, TreeSet<Integer> reference) {
+        int min = reference.first();
+        int max = reference.last();
+        assertEquals(reference.size(), domain.size());
+        assertEquals(min, domain.getMinValue());
+        assertEquals(max, domain.getMaxValue());
+        int index = 0;
+        for (int value : reference) {
+            assertEquals(value, domain.valueAt(index));
+            assertEquals(index, domain.indexOf(value));
+            index++;
+        }
+        for (int value = Math.max(0, min - 3); value <= max + 3; value++) {
+            String at = "value " + value;
+            assertEquals(at, reference.contains(value), domain.contains(value));
+            if (!reference.contains(value)) {
+                assertEquals(at, -1, domain.indexOf(value));
+            }
+            Integer higher = reference.higher(value);
+            assertEquals(at, higher != null ? higher : value + 1, domain.next(value));
+            Integer lower = reference.lower(value);
+            assertEquals(at, lower != null ? lower : value - 1, domain.previous(value));
+            Integer floor = reference.floor(value);
+            Integer ceiling = reference.ceiling(value);
+            int nearest;
+            if (floor == null) {
+                nearest = ceiling;
+            } else if (ceiling == null) {
+                nearest = floor;
+            } else {
+                nearest = (value - floor <= ceiling - value) ? floor : ceiling;
+            }
+            assertEquals(at, nearest, domain.nearest(value));
+        }
+    }
+}
@@ -5,14 +5,13 @@ import android.os.Bundle;
 import android.view.View;
 import android.widget.Toast;
 
+import net.simonvt.numberpicker.TimeFormats;
 import net.simonvt.numberpicker.TimePicker;
 import net.yslibrary.android.keyboardvisibilityevent.KeyboardVisibilityEvent;
 import net.yslibrary.android.keyboardvisibilityevent.KeyboardVisibilityEventListener;
 import net.yslibrary.android.keyboardvisibilityevent.Unregistrar;
 
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
-import java.util.Date;
 
 public class MainActivity extends AppCompatActivity {
 
@@ -69,8 +68,6 @@ public class MainActivity extends AppCompatActivity {
     }
 
     public String getTime(long mills) {
-        SimpleDateFormat sdf = new SimpleDateFormat("hh:mm a");
-        Date date = new Date(mills);
-        return sdf.format(date);
+        return TimeFormats.format("hh:mm a", mills);
     }
 }